@@ -0,0 +1,52 @@
+package bench;
+
+import factory.SortingAlgorithmFactory;
+import factory.SortingAlgorithmFactory.AlgorithmType;
+import input.InputGenerator;
+import interfaces.Observable;
+import interfaces.Observer;
+import model.Distribution;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import sort.SortingAlgorithm;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx8g", "--add-modules=jdk.incubator.vector"})
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class SnapshotOverheadBenchmark {
+
+    @Param({"QUICK_SORT", "MERGE_SORT", "INTRO_SORT", "BOTTOM_UP_MERGE_SORT", "NATURAL_MERGE_SORT",
+            "RADIX_SORT_8", "RADIX_SORT_11", "RADIX_SORT_16", "COUNTING_SORT"})
+    public AlgorithmType algorithm;
+
+    @Param({"1000", "10000"})
+    public int size;
+
+    @Param({"uniform", "sorted", "reversed", "few-unique"})
+    public String distribution;
+
+    private int[] input;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        input = InputGenerator.generate(Distribution.parse(distribution), size, 42L);
+    }
+
+    @Benchmark
+    public int[] snapshot(Blackhole blackhole) {
+        SortingAlgorithm sorter = SortingAlgorithmFactory.create(algorithm);
+        sorter.attach(new Observer() {
+            @Override
+            public void update(Observable o) {
+                blackhole.consume(sorter.getCurrentStep());
+            }
+        });
+        sorter.sort(input);
+        return sorter.getResult();
+    }
+}
@@ -0,0 +1,57 @@
+package bench;
+
+import factory.SortingAlgorithmFactory;
+import factory.SortingAlgorithmFactory.AlgorithmType;
+import input.InputGenerator;
+import model.Distribution;
+import org.openjdk.jmh.annotations.*;
+import sort.SortingAlgorithm;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx8g", "--add-modules=jdk.incubator.vector"})
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class SortKernelBenchmark {
+
+    @Param({"QUICK_SORT", "MERGE_SORT", "INTRO_SORT", "BOTTOM_UP_MERGE_SORT", "NATURAL_MERGE_SORT",
+            "RADIX_SORT_8", "RADIX_SORT_11", "RADIX_SORT_16", "COUNTING_SORT"})
+    public AlgorithmType algorithm;
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    public int size;
+
+    @Param({"uniform", "sorted", "reversed", "few-unique"})
+    public String distribution;
+
+    private int[] input;
+    private SortingAlgorithm sorter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        input = InputGenerator.generate(Distribution.parse(distribution), size, 42L);
+        sorter = SortingAlgorithmFactory.create(algorithm);
+    }
+
+    @Benchmark
+    public int[] untraced() {
+        sorter.sort(input);
+        return sorter.getResult();
+    }
+
+    @Benchmark
+    public int[] fast() {
+        sorter.sortFast(input);
+        return sorter.getResult();
+    }
+
+    @Benchmark
+    public int[] parallel() {
+        sorter.sortParallel(input, ForkJoinPool.commonPool(), null);
+        return sorter.getResult();
+    }
+}
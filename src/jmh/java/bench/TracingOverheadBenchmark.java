@@ -0,0 +1,114 @@
+package bench;
+
+import factory.SortingAlgorithmFactory;
+import factory.SortingAlgorithmFactory.AlgorithmType;
+import input.InputGenerator;
+import model.Distribution;
+import org.openjdk.jmh.annotations.*;
+import sort.SortingAlgorithm;
+import trace.EventRing;
+import trace.RecordingObserver;
+import trace.SortTrace;
+import trace.TraceFileWriter;
+import trace.TraceRecorder;
+import trace.WaitStrategy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx16g", "--add-modules=jdk.incubator.vector"})
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class TracingOverheadBenchmark {
+
+    @Param({"QUICK_SORT", "MERGE_SORT", "INTRO_SORT", "BOTTOM_UP_MERGE_SORT", "NATURAL_MERGE_SORT",
+            "RADIX_SORT_8", "RADIX_SORT_11", "RADIX_SORT_16", "COUNTING_SORT"})
+    public AlgorithmType algorithm;
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    public int size;
+
+    @Param({"uniform", "sorted", "reversed", "few-unique"})
+    public String distribution;
+
+    private int[] input;
+    private Path traceFile;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        input = InputGenerator.generate(Distribution.parse(distribution), size, 42L);
+        traceFile = Files.createTempFile("bench-", ".strc");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(traceFile);
+    }
+
+    @Benchmark
+    public int[] none() {
+        SortingAlgorithm sorter = SortingAlgorithmFactory.create(algorithm);
+        sorter.sort(input);
+        return sorter.getResult();
+    }
+
+    @Benchmark
+    public SortTrace memoryTrace() {
+        SortingAlgorithm sorter = SortingAlgorithmFactory.create(algorithm);
+        SortTrace trace = new SortTrace(input);
+        sorter.setEventSink(trace);
+        sorter.sort(input);
+        return trace;
+    }
+
+    @Benchmark
+    public SortTrace observerTrace() {
+        SortingAlgorithm sorter = SortingAlgorithmFactory.create(algorithm);
+        SortTrace trace = new SortTrace(input);
+        sorter.attach(new RecordingObserver(trace));
+        sorter.sort(input);
+        return trace;
+    }
+
+    @Benchmark
+    public SortTrace ringTrace() throws InterruptedException {
+        SortingAlgorithm sorter = SortingAlgorithmFactory.create(algorithm);
+        SortTrace trace = new SortTrace(input);
+        EventRing ring = new EventRing(4096, WaitStrategy.YIELD);
+        EventRing.Consumer consumer = ring.subscribe("bench", WaitStrategy.YIELD);
+        Thread drainer = Thread.ofPlatform().start(() -> {
+            try {
+                while (consumer.await()) consumer.drainTo(trace, 1024);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        sorter.setEventSink((TraceRecorder) (operation, first, second) -> {
+            try {
+                if (!ring.publish(operation, first, second)) throw new CancellationException();
+            } catch (InterruptedException e) {
+                throw new CancellationException();
+            }
+        });
+        sorter.sort(input);
+        ring.close();
+        drainer.join();
+        return trace;
+    }
+
+    @Benchmark
+    public long fileTrace() throws IOException {
+        SortingAlgorithm sorter = SortingAlgorithmFactory.create(algorithm);
+        try (TraceFileWriter writer = new TraceFileWriter(traceFile, input, algorithm.name())) {
+            sorter.setEventSink(writer);
+            sorter.sort(input);
+            return writer.getOperationCount();
+        }
+    }
+}
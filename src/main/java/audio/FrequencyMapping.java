@@ -0,0 +1,20 @@
+package audio;
+
+public class FrequencyMapping {
+
+    private static final double FREQ_MIN = 180.0;
+    private static final double FREQ_MAX = 1100.0;
+
+    private final int min;
+    private final double span;
+
+    public FrequencyMapping(int min, int max) {
+        this.min = min;
+        this.span = Math.max(1.0, (double) max - min);
+    }
+
+    public double valueToFrequency(int value) {
+        double ratio = ((double) value - min) / span;
+        return FREQ_MIN + ratio * (FREQ_MAX - FREQ_MIN);
+    }
+}
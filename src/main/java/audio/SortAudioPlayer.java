@@ -1,78 +1,109 @@
 package audio;
 
 import javax.sound.sampled.*;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
 
 public class SortAudioPlayer {
 
-    private static final float SAMPLE_RATE = 44100f;
-    private static final int TONE_MS = 60;
-    private static final double FREQ_MIN = 180.0;
-    private static final double FREQ_MAX = 1100.0;
+    static final int TONE_MS = 60;
+    private static final int MAX_VOICES = 6;
+    private static final int CHUNK_FRAMES = 256;
+    private static final int LINE_BUFFER_FRAMES = CHUNK_FRAMES * 4;
+    private static final int PENDING_CAPACITY = 8;
+    private static final long STALE_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
 
-    private int collectionMin = 0;
-    private int collectionMax = 1;
-    private boolean muted = false;
-    private ExecutorService executor = newExecutor();
+    private volatile FrequencyMapping mapping = new FrequencyMapping(0, 1);
+    private volatile boolean muted = false;
+
+    private final double[] pendingFrequencies = new double[PENDING_CAPACITY];
+    private final long[] pendingTimes = new long[PENDING_CAPACITY];
+    private int pendingHead = 0;
+    private int pendingCount = 0;
+    private boolean clearRequested = false;
+
+    private final VoiceMixer mixer = new VoiceMixer(MAX_VOICES);
+    private final byte[] chunk = new byte[CHUNK_FRAMES * 2];
+    private Thread engine;
+    private volatile boolean unavailable = false;
 
     public void setRange(int min, int max) {
-        this.collectionMin = min;
-        this.collectionMax = Math.max(max, min + 1);
+        this.mapping = new FrequencyMapping(min, max);
     }
 
     public void playTone(int value) {
-        if (muted || executor.isShutdown()) return;
-        double frequency = valueToFrequency(value);
-        executor.submit(() -> synthesizeAndPlay(frequency, TONE_MS));
+        if (muted || unavailable) return;
+        double frequency = mapping.valueToFrequency(value);
+        synchronized (pendingFrequencies) {
+            if (pendingCount == PENDING_CAPACITY) {
+                pendingHead = (pendingHead + 1) % PENDING_CAPACITY;
+                pendingCount--;
+            }
+            int tail = (pendingHead + pendingCount) % PENDING_CAPACITY;
+            pendingFrequencies[tail] = frequency;
+            pendingTimes[tail] = System.nanoTime();
+            pendingCount++;
+            if (engine == null) startEngine();
+        }
+        LockSupport.unpark(engine);
+    }
+
+    public void setMuted(boolean muted) {
+        this.muted = muted;
+        if (muted) reset();
     }
 
-    public void setMuted(boolean muted) { this.muted = muted; }
     public boolean isMuted() { return muted; }
 
     public void reset() {
-        executor.shutdownNow();
-        executor = newExecutor();
+        synchronized (pendingFrequencies) {
+            pendingCount = 0;
+            clearRequested = true;
+        }
     }
 
-    private void synthesizeAndPlay(double frequency, int durationMs) {
-        int numSamples = (int) (SAMPLE_RATE * durationMs / 1000.0);
-        byte[] buffer = new byte[numSamples * 2];
-        double amplitude = 22000.0;
-        int fadeSamples = Math.min(numSamples / 6, (int) (SAMPLE_RATE * 0.008));
-
-        for (int i = 0; i < numSamples; i++) {
-            double t = (double) i / SAMPLE_RATE;
-            double sine = Math.sin(2.0 * Math.PI * frequency * t);
-            double envelope = 1.0;
-            if (i < fadeSamples) envelope = (double) i / fadeSamples;
-            else if (i > numSamples - fadeSamples) envelope = (double) (numSamples - i) / fadeSamples;
-            short sample = (short) (sine * amplitude * envelope);
-            buffer[2 * i] = (byte) (sample & 0xFF);
-            buffer[2 * i + 1] = (byte) ((sample >> 8) & 0xFF);
-        }
+    private void startEngine() {
+        engine = new Thread(this::runEngine, "sort-audio");
+        engine.setDaemon(true);
+        engine.start();
+    }
 
-        AudioFormat format = new AudioFormat(SAMPLE_RATE, 16, 1, true, false);
+    private void runEngine() {
+        AudioFormat format = new AudioFormat(VoiceMixer.SAMPLE_RATE, 16, 1, true, false);
+        SourceDataLine line;
         try {
-            SourceDataLine line = AudioSystem.getSourceDataLine(format);
-            line.open(format, buffer.length);
+            line = AudioSystem.getSourceDataLine(format);
+            line.open(format, LINE_BUFFER_FRAMES * 2);
             line.start();
-            line.write(buffer, 0, buffer.length);
-            line.drain();
-            line.close();
-        } catch (LineUnavailableException ignored) {}
-    }
-
-    private double valueToFrequency(int value) {
-        double ratio = (double) (value - collectionMin) / (collectionMax - collectionMin);
-        return FREQ_MIN + ratio * (FREQ_MAX - FREQ_MIN);
+        } catch (LineUnavailableException | IllegalArgumentException | SecurityException e) {
+            unavailable = true;
+            return;
+        }
+        while (true) {
+            drainPending();
+            if (mixer.isIdle()) {
+                LockSupport.parkNanos(STALE_NANOS);
+                continue;
+            }
+            mixer.mix(chunk, CHUNK_FRAMES);
+            line.write(chunk, 0, chunk.length);
+        }
     }
 
-    private static ExecutorService newExecutor() {
-        return Executors.newSingleThreadExecutor(r -> {
-            Thread t = new Thread(r, "sort-audio");
-            t.setDaemon(true);
-            return t;
-        });
+    private void drainPending() {
+        long now = System.nanoTime();
+        synchronized (pendingFrequencies) {
+            if (clearRequested) {
+                mixer.clear();
+                clearRequested = false;
+            }
+            while (pendingCount > 0) {
+                double frequency = pendingFrequencies[pendingHead];
+                long queuedAt = pendingTimes[pendingHead];
+                pendingHead = (pendingHead + 1) % PENDING_CAPACITY;
+                pendingCount--;
+                if (now - queuedAt <= STALE_NANOS) mixer.start(frequency, TONE_MS);
+            }
+        }
     }
 }
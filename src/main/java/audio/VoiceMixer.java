@@ -0,0 +1,92 @@
+package audio;
+
+public class VoiceMixer {
+
+    public static final float SAMPLE_RATE = 44100f;
+
+    private static final int TABLE_SIZE = 4096;
+    private static final int TABLE_MASK = TABLE_SIZE - 1;
+    private static final float[] WAVETABLE = new float[TABLE_SIZE];
+    private static final double AMPLITUDE = 22000.0;
+
+    static {
+        for (int i = 0; i < TABLE_SIZE; i++) WAVETABLE[i] = (float) Math.sin(2.0 * Math.PI * i / TABLE_SIZE);
+    }
+
+    private final double[] phase;
+    private final double[] phaseStep;
+    private final int[] position;
+    private final int[] length;
+    private final int[] fade;
+    private final long[] startOrder;
+    private long started = 0;
+    private int active = 0;
+
+    public VoiceMixer(int maxVoices) {
+        phase = new double[maxVoices];
+        phaseStep = new double[maxVoices];
+        position = new int[maxVoices];
+        length = new int[maxVoices];
+        fade = new int[maxVoices];
+        startOrder = new long[maxVoices];
+    }
+
+    public void start(double frequency, int durationMs) {
+        int slot = freeSlot();
+        int numSamples = (int) (SAMPLE_RATE * durationMs / 1000.0);
+        phase[slot] = 0;
+        phaseStep[slot] = frequency * TABLE_SIZE / SAMPLE_RATE;
+        position[slot] = 0;
+        length[slot] = numSamples;
+        fade[slot] = Math.max(1, Math.min(numSamples / 6, (int) (SAMPLE_RATE * 0.008)));
+        startOrder[slot] = ++started;
+        recountActive();
+    }
+
+    public boolean isIdle() { return active == 0; }
+
+    public void clear() {
+        for (int v = 0; v < length.length; v++) length[v] = 0;
+        active = 0;
+    }
+
+    public void mix(byte[] out, int frames) {
+        double gain = active > 1 ? 1.0 / Math.sqrt(active) : 1.0;
+        for (int i = 0; i < frames; i++) {
+            double sample = 0;
+            for (int v = 0; v < length.length; v++) {
+                int p = position[v];
+                int n = length[v];
+                if (p >= n) continue;
+                double envelope = 1.0;
+                if (p < fade[v]) envelope = (double) p / fade[v];
+                else if (p > n - fade[v]) envelope = (double) (n - p) / fade[v];
+                sample += WAVETABLE[(int) phase[v] & TABLE_MASK] * envelope;
+                phase[v] += phaseStep[v];
+                if (phase[v] >= TABLE_SIZE) phase[v] -= TABLE_SIZE;
+                position[v] = p + 1;
+            }
+            int s = (int) (sample * AMPLITUDE * gain);
+            if (s > Short.MAX_VALUE) s = Short.MAX_VALUE;
+            else if (s < Short.MIN_VALUE) s = Short.MIN_VALUE;
+            out[2 * i] = (byte) (s & 0xFF);
+            out[2 * i + 1] = (byte) ((s >> 8) & 0xFF);
+        }
+        recountActive();
+    }
+
+    private int freeSlot() {
+        int oldest = 0;
+        for (int v = 0; v < length.length; v++) {
+            if (position[v] >= length[v]) return v;
+            if (startOrder[v] < startOrder[oldest]) oldest = v;
+        }
+        return oldest;
+    }
+
+    private void recountActive() {
+        int count = 0;
+        for (int v = 0; v < length.length; v++) if (position[v] < length[v]) count++;
+        active = count;
+    }
+}
@@ -0,0 +1,83 @@
+package audio;
+
+import trace.ArrayState;
+import trace.Trace;
+import trace.TraceCursor;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+public class WavRenderer {
+
+    private static final int MAX_VOICES = 6;
+    private static final int CHUNK_FRAMES = 4096;
+    private static final long MAX_DATA_BYTES = 0xFFFFFFFFL - 36;
+
+    private final FrequencyMapping mapping;
+    private final int stepMs;
+
+    public WavRenderer(int min, int max, int stepMs) {
+        if (stepMs <= 0) throw new IllegalArgumentException("Duree par etape invalide : " + stepMs);
+        this.mapping = new FrequencyMapping(min, max);
+        this.stepMs = stepMs;
+    }
+
+    public void render(Trace trace, Path path) throws IOException {
+        long stepFrames = (long) (VoiceMixer.SAMPLE_RATE * stepMs / 1000.0);
+        long tailFrames = (long) (VoiceMixer.SAMPLE_RATE * SortAudioPlayer.TONE_MS / 1000.0);
+        long totalFrames = stepFrames * trace.size() + tailFrames;
+        long dataBytes = totalFrames * 2;
+        if (dataBytes > MAX_DATA_BYTES) {
+            throw new IOException("Rendu trop long pour un fichier WAV : " + dataBytes + " octets");
+        }
+
+        VoiceMixer mixer = new VoiceMixer(MAX_VOICES);
+        byte[] chunk = new byte[CHUNK_FRAMES * 2];
+        TraceCursor cursor = trace.cursor();
+        ArrayState state = cursor.getState();
+
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(path), 1 << 16)) {
+            out.write(header(dataBytes));
+            while (cursor.hasNext()) {
+                cursor.next();
+                if (state.getHighlightCount() > 0) {
+                    mixer.start(mapping.valueToFrequency(state.getValue(state.getHighlight(0))), SortAudioPlayer.TONE_MS);
+                }
+                writeFrames(mixer, chunk, stepFrames, out);
+            }
+            writeFrames(mixer, chunk, tailFrames, out);
+        }
+    }
+
+    private static void writeFrames(VoiceMixer mixer, byte[] chunk, long frames, OutputStream out) throws IOException {
+        while (frames > 0) {
+            int n = (int) Math.min(frames, CHUNK_FRAMES);
+            if (mixer.isIdle()) {
+                Arrays.fill(chunk, 0, n * 2, (byte) 0);
+            } else {
+                mixer.mix(chunk, n);
+            }
+            out.write(chunk, 0, n * 2);
+            frames -= n;
+        }
+    }
+
+    private static byte[] header(long dataBytes) {
+        int sampleRate = (int) VoiceMixer.SAMPLE_RATE;
+        ByteBuffer header = ByteBuffer.allocate(44).order(ByteOrder.LITTLE_ENDIAN);
+        header.put(new byte[]{'R', 'I', 'F', 'F'}).putInt((int) (36 + dataBytes))
+                .put(new byte[]{'W', 'A', 'V', 'E'})
+                .put(new byte[]{'f', 'm', 't', ' '}).putInt(16)
+                .putShort((short) 1).putShort((short) 1)
+                .putInt(sampleRate).putInt(sampleRate * 2)
+                .putShort((short) 2).putShort((short) 16)
+                .put(new byte[]{'d', 'a', 't', 'a'}).putInt((int) dataBytes);
+        return header.array();
+    }
+}
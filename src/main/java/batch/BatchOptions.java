@@ -0,0 +1,91 @@
+package batch;
+
+import factory.SortingAlgorithmFactory.AlgorithmType;
+import model.Distribution;
+import model.ExecutionMode;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+class BatchOptions {
+
+    enum TraceMode { NONE, MEMORY, FILE }
+    enum Format { CSV, JSON }
+
+    List<AlgorithmType> algorithms = new ArrayList<>(Arrays.asList(AlgorithmType.values()));
+    List<Integer> sizes = List.of(1000);
+    Distribution distribution = Distribution.UNIFORM;
+    long seed = 42L;
+    int swaps = -1;
+    Path inputFile;
+    int repeat = 1;
+    ExecutionMode mode = ExecutionMode.SEQUENTIAL;
+    boolean verify = false;
+    TraceMode trace = TraceMode.NONE;
+    Path traceDirectory = Path.of(".");
+    int wavStepMs = 0;
+    Format format = Format.CSV;
+    Path output;
+
+    static final String USAGE = """
+            Usage : java -cp <classes> batch.BatchRunner [options]
+              --algorithms A,B     algorithmes (QUICK_SORT,MERGE_SORT,...) ; defaut : tous
+              --sizes N,M          tailles des entrees generees ; defaut : 1000
+              --distribution D     uniform (ou random) | sorted | reversed | nearly-sorted | few-unique
+                                   | sawtooth | organ-pipe | quicksort-killer ; defaut : uniform
+              --seed S             graine du generateur ; defaut : 42
+              --swaps K            echanges aleatoires pour nearly-sorted ; defaut : taille / 100
+              --input FICHIER      entiers separes par virgules ou espaces, ou int32 little-endian brut
+                                   (.bin, .i32, .raw) ; remplace --sizes
+              --repeat R           repetitions par configuration ; defaut : 1
+              --mode M             sequential | parallel | fast (noyaux vectoriels, sans trace) ; defaut : sequential
+              --verify             compare chaque sortie a Arrays.sort
+              --trace MODE         none | memory | file ; defaut : none
+              --trace-dir DOSSIER  dossier des traces et fichiers WAV ; defaut : .
+              --wav MS             rend aussi un WAV avec MS millisecondes par etape
+              --format F           csv | json ; defaut : csv
+              --output FICHIER     fichier de sortie ; defaut : sortie standard
+            """;
+
+    static BatchOptions parse(String[] args) {
+        BatchOptions options = new BatchOptions();
+        for (int i = 0; i < args.length; i++) {
+            String name = args[i];
+            if (name.equals("--help") || name.equals("-h")) throw new IllegalArgumentException("");
+            if (name.equals("--verify")) {
+                options.verify = true;
+                continue;
+            }
+            if (i + 1 >= args.length) throw new IllegalArgumentException("Valeur manquante pour " + name);
+            String value = args[++i];
+            switch (name) {
+                case "--algorithms" -> options.algorithms = Arrays.stream(value.split(","))
+                        .map(String::trim).map(String::toUpperCase).map(AlgorithmType::valueOf).toList();
+                case "--sizes" -> options.sizes = Arrays.stream(value.split(","))
+                        .map(String::trim).map(Integer::parseInt).toList();
+                case "--distribution" -> options.distribution = Distribution.parse(value);
+                case "--seed" -> options.seed = Long.parseLong(value);
+                case "--swaps" -> options.swaps = Integer.parseInt(value);
+                case "--input" -> options.inputFile = Path.of(value);
+                case "--repeat" -> options.repeat = Integer.parseInt(value);
+                case "--mode" -> options.mode = ExecutionMode.valueOf(value.toUpperCase());
+                case "--trace" -> options.trace = TraceMode.valueOf(value.toUpperCase());
+                case "--trace-dir" -> options.traceDirectory = Path.of(value);
+                case "--wav" -> options.wavStepMs = Integer.parseInt(value);
+                case "--format" -> options.format = Format.valueOf(value.toUpperCase());
+                case "--output" -> options.output = Path.of(value);
+                default -> throw new IllegalArgumentException("Option inconnue : " + name);
+            }
+        }
+        if (options.repeat < 1) throw new IllegalArgumentException("--repeat doit etre positif.");
+        if (options.mode == ExecutionMode.FAST && options.trace != TraceMode.NONE) {
+            throw new IllegalArgumentException("--mode fast ne produit pas de trace.");
+        }
+        if (options.wavStepMs > 0 && options.trace == TraceMode.NONE) {
+            throw new IllegalArgumentException("--wav necessite --trace memory ou --trace file.");
+        }
+        return options;
+    }
+}
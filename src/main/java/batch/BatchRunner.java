@@ -0,0 +1,204 @@
+package batch;
+
+import audio.WavRenderer;
+import factory.SortingAlgorithmFactory;
+import factory.SortingAlgorithmFactory.AlgorithmType;
+import input.CollectionReader;
+import input.InputGenerator;
+import model.ExecutionMode;
+import monitoring.SortMonitor;
+import sort.FastKernels;
+import sort.SortingAlgorithm;
+import trace.MappedTrace;
+import trace.SortTrace;
+import trace.Trace;
+import trace.TraceFileWriter;
+import trace.TraceLanes;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+public class BatchRunner {
+
+    private final BatchOptions options;
+
+    BatchRunner(BatchOptions options) {
+        this.options = options;
+    }
+
+    public static void main(String[] args) {
+        BatchOptions options;
+        try {
+            options = BatchOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            if (!e.getMessage().isEmpty()) System.err.println(e.getMessage());
+            System.err.print(BatchOptions.USAGE);
+            System.exit(2);
+            return;
+        }
+        try {
+            List<RunResult> results = new BatchRunner(options).runAll();
+            if (options.output == null) {
+                ReportWriter.write(results, options.format, System.out);
+            } else {
+                try (PrintStream out = new PrintStream(Files.newOutputStream(options.output))) {
+                    ReportWriter.write(results, options.format, out);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Echec : " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    List<RunResult> runAll() throws IOException {
+        List<RunResult> results = new ArrayList<>();
+        if (options.trace != BatchOptions.TraceMode.NONE) Files.createDirectories(options.traceDirectory);
+        if (options.inputFile != null) {
+            int[] input = CollectionReader.read(options.inputFile);
+            if (input.length == 0) throw new IllegalArgumentException("Fichier d'entree vide : " + options.inputFile);
+            runInput(input, options.inputFile.getFileName().toString(), results);
+        } else {
+            for (int size : options.sizes) {
+                int swaps = options.swaps < 0 ? InputGenerator.defaultSwaps(size) : options.swaps;
+                runInput(InputGenerator.generate(options.distribution, size, options.seed, swaps), options.distribution.getKey(), results);
+            }
+        }
+        return results;
+    }
+
+    private void runInput(int[] input, String label, List<RunResult> results) throws IOException {
+        for (AlgorithmType type : options.algorithms) {
+            for (int run = 1; run <= options.repeat; run++) {
+                results.add(runOnce(type, input, label, run));
+            }
+        }
+    }
+
+    private RunResult runOnce(AlgorithmType type, int[] input, String label, int run) throws IOException {
+        SortingAlgorithm algorithm = SortingAlgorithmFactory.create(type);
+        SortMonitor.get().track(algorithm);
+        String baseName = type.name().toLowerCase() + "-" + input.length + "-" + run;
+        SortTrace memoryTrace = null;
+        TraceFileWriter fileTrace = null;
+        Path traceFile = options.traceDirectory.resolve(baseName + ".strc");
+        boolean parallel = options.mode == ExecutionMode.PARALLEL;
+        TraceLanes lanes = parallel && options.trace != BatchOptions.TraceMode.NONE ? new TraceLanes() : null;
+        switch (options.trace) {
+            case MEMORY -> {
+                memoryTrace = new SortTrace(input, parallel);
+                algorithm.setEventSink(memoryTrace);
+            }
+            case FILE -> {
+                fileTrace = new TraceFileWriter(traceFile, input, type.name());
+                algorithm.setEventSink(fileTrace);
+            }
+            case NONE -> {}
+        }
+
+        String status = "ok";
+        long elapsed;
+        long peak;
+        boolean keepTrace = false;
+        try {
+            System.gc();
+            resetPeakHeap();
+            long start = System.nanoTime();
+            try {
+                switch (options.mode) {
+                    case PARALLEL -> algorithm.sortParallel(input, ForkJoinPool.commonPool(), lanes);
+                    case FAST -> algorithm.sortFast(input);
+                    case SEQUENTIAL -> algorithm.sort(input);
+                }
+            } catch (StackOverflowError e) {
+                status = "stack-overflow";
+            }
+            elapsed = System.nanoTime() - start;
+            peak = peakHeap();
+            if (status.equals("ok")) {
+                SortMonitor.get().completed();
+                if (options.verify && !matchesReference(input, algorithm.getResult())) status = "mismatch";
+                if (lanes != null) lanes.mergeInto(memoryTrace != null ? memoryTrace : fileTrace);
+                keepTrace = true;
+            }
+        } finally {
+            if (fileTrace != null) closeTrace(fileTrace, traceFile, keepTrace);
+        }
+        String mode = options.mode.name().toLowerCase();
+        if (options.mode == ExecutionMode.FAST) mode += "-" + FastKernels.get().getName();
+        if (status.equals("stack-overflow")) {
+            System.err.println("Echec " + type + " (" + input.length + ", run " + run + ") : pile d'appels saturee, recursion trop profonde pour cette entree.");
+            return new RunResult(type.name(), input.length, label, run, mode, options.trace.name().toLowerCase(),
+                    elapsed / 1e6, algorithm.getComparisons(), algorithm.getSwaps(), algorithm.getWrites(), 0, peak, false, status);
+        }
+        if (status.equals("mismatch")) {
+            System.err.println("Echec " + type + " (" + input.length + ", run " + run + ") : sortie differente de Arrays.sort.");
+        }
+
+        long traceOperations = 0;
+        if (memoryTrace != null) traceOperations = memoryTrace.size();
+        if (fileTrace != null) traceOperations = fileTrace.getOperationCount();
+        if (options.wavStepMs > 0) {
+            Path wav = options.traceDirectory.resolve(baseName + ".wav");
+            if (memoryTrace != null) {
+                renderWav(memoryTrace, input, wav);
+            } else if (fileTrace != null) {
+                try (MappedTrace mapped = MappedTrace.open(traceFile)) {
+                    renderWav(mapped, input, wav);
+                }
+            }
+        }
+
+        return new RunResult(type.name(), input.length, label, run, mode,
+                options.trace.name().toLowerCase(), elapsed / 1e6, algorithm.getComparisons(), algorithm.getSwaps(), algorithm.getWrites(),
+                traceOperations, peak, isSorted(algorithm.getResult()), status);
+    }
+
+    private static void closeTrace(TraceFileWriter writer, Path file, boolean keep) throws IOException {
+        try {
+            writer.close();
+        } finally {
+            if (!keep) Files.deleteIfExists(file);
+        }
+    }
+
+    private void renderWav(Trace recorded, int[] input, Path wav) throws IOException {
+        int min = Arrays.stream(input).min().orElse(0);
+        int max = Arrays.stream(input).max().orElse(1);
+        new WavRenderer(min, max, options.wavStepMs).render(recorded, wav);
+    }
+
+    private static boolean matchesReference(int[] input, int[] result) {
+        int[] expected = input.clone();
+        Arrays.sort(expected);
+        return Arrays.equals(expected, result);
+    }
+
+    private static boolean isSorted(int[] values) {
+        for (int i = 1; i < values.length; i++) if (values[i - 1] > values[i]) return false;
+        return true;
+    }
+
+    private static void resetPeakHeap() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) pool.resetPeakUsage();
+        }
+    }
+
+    private static long peakHeap() {
+        long total = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && pool.getPeakUsage() != null) total += pool.getPeakUsage().getUsed();
+        }
+        return total;
+    }
+}
@@ -0,0 +1,67 @@
+package batch;
+
+import java.io.PrintStream;
+import java.util.List;
+import java.util.Locale;
+
+class ReportWriter {
+
+    private static final String[] COLUMNS = {
+            "algorithm", "size", "input", "run", "mode", "trace", "wall_ms", "comparisons",
+            "swaps", "writes", "trace_ops", "peak_heap_bytes", "sorted", "status"
+    };
+
+    static void write(List<RunResult> results, BatchOptions.Format format, PrintStream out) {
+        if (format == BatchOptions.Format.JSON) writeJson(results, out);
+        else writeCsv(results, out);
+        out.flush();
+    }
+
+    private static void writeCsv(List<RunResult> results, PrintStream out) {
+        out.println(String.join(",", COLUMNS));
+        for (RunResult r : results) {
+            Object[] values = values(r);
+            StringBuilder line = new StringBuilder();
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) line.append(',');
+                line.append(values[i] instanceof String text ? csvField(text) : format(values[i]));
+            }
+            out.println(line);
+        }
+    }
+
+    private static void writeJson(List<RunResult> results, PrintStream out) {
+        out.println("[");
+        for (int r = 0; r < results.size(); r++) {
+            Object[] values = values(results.get(r));
+            StringBuilder line = new StringBuilder("  {");
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) line.append(", ");
+                line.append('"').append(COLUMNS[i]).append("\": ");
+                Object value = values[i];
+                if (value instanceof String text) line.append('"').append(text.replace("\\", "\\\\").replace("\"", "\\\"")).append('"');
+                else line.append(format(value));
+            }
+            line.append(r < results.size() - 1 ? "}," : "}");
+            out.println(line);
+        }
+        out.println("]");
+    }
+
+    private static Object[] values(RunResult r) {
+        return new Object[]{
+                r.algorithm(), r.size(), r.input(), r.run(), r.mode(), r.trace(), r.wallMillis(), r.comparisons(),
+                r.swaps(), r.writes(), r.traceOperations(), r.peakHeapBytes(), r.sorted(), r.status()
+        };
+    }
+
+    private static String csvField(String text) {
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) return text;
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+
+    private static String format(Object value) {
+        if (value instanceof Double d) return String.format(Locale.ROOT, "%.3f", d);
+        return String.valueOf(value);
+    }
+}
@@ -0,0 +1,6 @@
+package batch;
+
+record RunResult(String algorithm, int size, String input, int run, String mode, String trace,
+                 double wallMillis, long comparisons, long swaps, long writes,
+                 long traceOperations, long peakHeapBytes, boolean sorted, String status) {
+}
@@ -0,0 +1,83 @@
+package controller;
+
+import audio.SortAudioPlayer;
+import javafx.animation.AnimationTimer;
+import sort.SortMetrics;
+import trace.ArrayState;
+import trace.StepSource;
+import trace.TraceCursor;
+import ui.VisualizationDisplay;
+
+import java.util.function.Supplier;
+
+class FrameRenderer extends AnimationTimer {
+
+    private static final long METRICS_INTERVAL_NANOS = 250_000_000L;
+
+    private final VisualizationDisplay display;
+    private final SortAudioPlayer audio;
+    private final Runnable onComplete;
+    private final Supplier<SortMetrics> metrics;
+
+    private StepSource source;
+    private TraceCursor cursor;
+    private PlaybackClock clock;
+    private int total;
+    private int applied;
+    private boolean completed;
+    private long lastMetrics;
+
+    FrameRenderer(VisualizationDisplay display, SortAudioPlayer audio, Runnable onComplete, Supplier<SortMetrics> metrics) {
+        this.display = display;
+        this.audio = audio;
+        this.onComplete = onComplete;
+        this.metrics = metrics;
+    }
+
+    void begin(StepSource source, TraceCursor cursor, int total, PlaybackClock clock) {
+        this.source = source;
+        this.cursor = cursor;
+        this.total = total;
+        this.clock = clock;
+        this.applied = 0;
+        this.completed = false;
+        this.lastMetrics = 0;
+        source.getState().setChangeTracking(true);
+        start();
+    }
+
+    @Override
+    public void handle(long now) {
+        int target = clock.getPosition();
+        int before = applied;
+        if (cursor != null) {
+            if (target != applied) cursor.seek(target);
+            applied = cursor.getPosition();
+        } else {
+            while (applied < target && source.advance()) applied++;
+            if (applied < target) clock.holdAt(applied);
+        }
+
+        if (applied != before) {
+            ArrayState state = source.getState();
+            if (applied > before && !clock.isPaused() && state.getHighlightCount() > 0) {
+                audio.playTone(state.getValue(state.getHighlight(0)));
+            }
+            display.updateDisplay(state.view(), applied, total);
+            state.clearChanges();
+        }
+
+        if (now - lastMetrics >= METRICS_INTERVAL_NANOS) {
+            lastMetrics = now;
+            display.updateMetrics(metrics.get());
+        }
+
+        boolean exhausted = cursor != null ? applied == total : source.isExhausted();
+        if (exhausted && !completed) {
+            completed = true;
+            onComplete.run();
+        } else if (!exhausted) {
+            completed = false;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package controller;
+
+import model.SimulationSpeed;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+record Pace(double stepsPerTick, long tickNanos) {
+
+    static final long FRAME_NANOS = 1_000_000_000L / 60;
+
+    static Pace of(SimulationSpeed speed) {
+        return new Pace(1, TimeUnit.MILLISECONDS.toNanos(speed.getDelayMs()));
+    }
+
+    static Pace spread(int steps, Duration target) {
+        long budget = Math.max(FRAME_NANOS, target.toNanos());
+        if (steps <= 0) return new Pace(1, budget);
+        long perStep = budget / steps;
+        if (perStep >= FRAME_NANOS) return new Pace(1, perStep);
+        return new Pace((double) steps * FRAME_NANOS / budget, FRAME_NANOS);
+    }
+
+    static Pace choose(SimulationSpeed speed, Duration target, int steps) {
+        return target == null ? of(speed) : spread(steps, target);
+    }
+}
@@ -0,0 +1,87 @@
+package controller;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+class PlaybackClock {
+
+    private final AtomicInteger position = new AtomicInteger();
+    private final Object lock = new Object();
+    private final int limit;
+    private volatile boolean paused = false;
+    private volatile boolean running = true;
+    private int epoch = 0;
+
+    PlaybackClock(int limit) {
+        this.limit = limit;
+    }
+
+    void run(Pace pace) throws InterruptedException {
+        long tick = pace.tickNanos();
+        double rate = pace.stepsPerTick();
+        int seen = -1;
+        long anchor = 0;
+        int base = 0;
+        while (running) {
+            long deadline;
+            synchronized (lock) {
+                while (running && (paused || position.get() >= limit)) lock.wait();
+                if (!running) break;
+                long now = System.nanoTime();
+                if (epoch != seen) {
+                    seen = epoch;
+                    anchor = now;
+                    base = position.get();
+                }
+                long ticks = (now - anchor) / tick + 1;
+                position.set((int) Math.min(limit, base + (long) (ticks * rate)));
+                deadline = anchor + ticks * tick;
+            }
+            for (long wait = deadline - System.nanoTime(); wait > 0 && running; wait = deadline - System.nanoTime()) {
+                LockSupport.parkNanos(this, wait);
+                if (Thread.interrupted()) throw new InterruptedException();
+            }
+        }
+    }
+
+    int getPosition() { return position.get(); }
+    boolean isPaused() { return paused; }
+
+    void setPaused(boolean paused) {
+        synchronized (lock) {
+            this.paused = paused;
+            epoch++;
+            lock.notifyAll();
+        }
+    }
+
+    void seek(int target) {
+        synchronized (lock) {
+            paused = true;
+            position.set(Math.max(0, Math.min(target, limit)));
+            epoch++;
+            lock.notifyAll();
+        }
+    }
+
+    void step(int delta) {
+        synchronized (lock) {
+            seek((int) Math.max(0, Math.min(limit, (long) position.get() + delta)));
+        }
+    }
+
+    void holdAt(int available) {
+        synchronized (lock) {
+            if (position.get() <= available) return;
+            position.set(available);
+            epoch++;
+        }
+    }
+
+    void stop() {
+        synchronized (lock) {
+            running = false;
+            lock.notifyAll();
+        }
+    }
+}
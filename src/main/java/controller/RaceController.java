@@ -0,0 +1,137 @@
+package controller;
+
+import factory.SortingAlgorithmFactory;
+import factory.SortingAlgorithmFactory.AlgorithmType;
+import javafx.application.Platform;
+import model.RaceParameters;
+import sort.SortingAlgorithm;
+import trace.SortTrace;
+import trace.TraceCursor;
+import trace.TraceRecorder;
+import ui.RaceDisplay;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+
+public class RaceController {
+
+    private final RaceDisplay display;
+    private final RaceRenderer renderer;
+
+    private RaceParameters parameters;
+    private volatile Object race;
+    private final List<Thread> workers = new ArrayList<>();
+    private Thread playbackThread;
+    private volatile PlaybackClock clock;
+    private RaceResult[] results;
+
+    public RaceController(RaceDisplay display) {
+        this.display = display;
+        this.renderer = new RaceRenderer(display, this::onRaceComplete);
+    }
+
+    public void prepare(RaceParameters parameters) {
+        stop();
+        this.parameters = parameters;
+        for (int i = 0; i < parameters.getAlgorithmTypes().size(); i++) display.getLane(i).reset(parameters.getCollection());
+    }
+
+    public void start() {
+        if (parameters == null || race != null) return;
+        Object token = new Object();
+        race = token;
+        List<AlgorithmType> types = parameters.getAlgorithmTypes();
+        SortTrace[] traces = new SortTrace[types.size()];
+        RaceResult[] recorded = new RaceResult[types.size()];
+        int[] finished = new int[1];
+        workers.clear();
+        for (int i = 0; i < types.size(); i++) {
+            int lane = i;
+            workers.add(Thread.ofVirtual().name("race-" + types.get(i).name().toLowerCase()).start(() -> {
+                traces[lane] = new SortTrace(parameters.getCollection());
+                recorded[lane] = record(types.get(lane), traces[lane], token);
+                if (recorded[lane] == null) return;
+                Platform.runLater(() -> {
+                    if (race != token) return;
+                    display.onRecorded(++finished[0], types.size());
+                    if (finished[0] == types.size()) play(traces, recorded);
+                });
+            }));
+        }
+    }
+
+    private RaceResult record(AlgorithmType type, SortTrace trace, Object token) {
+        SortingAlgorithm algorithm = SortingAlgorithmFactory.create(type);
+        algorithm.setEventSink((TraceRecorder) (operation, first, second) -> {
+            if (race != token) throw new CancellationException();
+            trace.append(operation, first, second);
+        });
+        String failure = null;
+        long start = System.nanoTime();
+        try {
+            algorithm.sort(parameters.getCollection());
+        } catch (CancellationException e) {
+            return null;
+        } catch (StackOverflowError e) {
+            failure = "pile saturee";
+        } catch (OutOfMemoryError e) {
+            failure = "memoire insuffisante";
+        } catch (Throwable e) {
+            failure = e.getClass().getSimpleName() + (e.getMessage() == null ? "" : " : " + e.getMessage());
+        }
+        long elapsed = System.nanoTime() - start;
+        return new RaceResult(type, algorithm.getName(), trace.size(), elapsed,
+                algorithm.getComparisons(), algorithm.getSwaps(), algorithm.getWrites(), failure);
+    }
+
+    private void play(SortTrace[] traces, RaceResult[] recorded) {
+        results = recorded;
+        TraceCursor[] cursors = Arrays.stream(traces).map(SortTrace::cursor).toArray(TraceCursor[]::new);
+        int longest = Arrays.stream(traces).mapToInt(SortTrace::size).max().orElse(0);
+        PlaybackClock playback = new PlaybackClock(longest);
+        clock = playback;
+        renderer.begin(cursors, playback);
+        playbackThread = Thread.ofVirtual().name("race-playback").start(() -> {
+            try {
+                playback.run(Pace.choose(parameters.getSpeed(), parameters.getTargetDuration(), longest));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+    }
+
+    private void onRaceComplete() {
+        List<RaceResult> ranking = new ArrayList<>(Arrays.asList(results));
+        ranking.sort(Comparator.comparing(RaceResult::failed).thenComparingInt(RaceResult::steps));
+        display.showSummary(ranking);
+    }
+
+    public void stop() {
+        race = null;
+        renderer.stop();
+        PlaybackClock current = clock;
+        if (current != null) current.stop();
+        clock = null;
+        for (Thread worker : workers) worker.interrupt();
+        workers.clear();
+        if (playbackThread != null) playbackThread.interrupt();
+    }
+
+    public boolean isPaused() {
+        PlaybackClock current = clock;
+        return current != null && current.isPaused();
+    }
+
+    public void setPaused(boolean paused) {
+        PlaybackClock current = clock;
+        if (current != null) current.setPaused(paused);
+    }
+
+    public void seek(int target) {
+        PlaybackClock current = clock;
+        if (current != null) current.seek(target);
+    }
+}
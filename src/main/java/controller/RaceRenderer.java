@@ -0,0 +1,73 @@
+package controller;
+
+import javafx.animation.AnimationTimer;
+import trace.ArrayState;
+import trace.TraceCursor;
+import ui.RaceDisplay;
+import ui.VisualizationDisplay;
+
+class RaceRenderer extends AnimationTimer {
+
+    private final RaceDisplay display;
+    private final Runnable onComplete;
+
+    private TraceCursor[] cursors;
+    private int[] applied;
+    private boolean[] finished;
+    private PlaybackClock clock;
+    private int total;
+    private int shown;
+    private boolean completed;
+
+    RaceRenderer(RaceDisplay display, Runnable onComplete) {
+        this.display = display;
+        this.onComplete = onComplete;
+    }
+
+    void begin(TraceCursor[] cursors, PlaybackClock clock) {
+        this.cursors = cursors;
+        this.applied = new int[cursors.length];
+        this.finished = new boolean[cursors.length];
+        this.clock = clock;
+        this.total = 0;
+        this.shown = -1;
+        this.completed = false;
+        for (TraceCursor cursor : cursors) {
+            cursor.getState().setChangeTracking(true);
+            total = Math.max(total, cursor.size());
+        }
+        start();
+    }
+
+    @Override
+    public void handle(long now) {
+        int target = clock.getPosition();
+        boolean allFinished = true;
+        for (int i = 0; i < cursors.length; i++) {
+            TraceCursor cursor = cursors[i];
+            VisualizationDisplay lane = display.getLane(i);
+            int laneTarget = Math.min(target, cursor.size());
+            if (laneTarget != applied[i]) {
+                cursor.seek(laneTarget);
+                applied[i] = laneTarget;
+                ArrayState state = cursor.getState();
+                lane.updateDisplay(state.view(), laneTarget, cursor.size());
+                state.clearChanges();
+            }
+            boolean done = laneTarget == cursor.size();
+            if (done && !finished[i]) lane.notifySortComplete();
+            finished[i] = done;
+            allFinished &= done;
+        }
+        if (target != shown) {
+            shown = target;
+            display.updateProgress(target, total);
+        }
+        if (allFinished && !completed) {
+            completed = true;
+            onComplete.run();
+        } else if (!allFinished) {
+            completed = false;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package controller;
+
+import factory.SortingAlgorithmFactory.AlgorithmType;
+
+public record RaceResult(AlgorithmType type, String name, int steps, long wallNanos,
+                         long comparisons, long swaps, long writes, String failure) {
+
+    public boolean failed() { return failure != null; }
+}
@@ -1,89 +1,368 @@
 package controller;
 
 import audio.SortAudioPlayer;
+import audio.WavRenderer;
 import factory.SortingAlgorithmFactory;
-import interfaces.Observable;
-import interfaces.Observer;
-import model.SimulationSpeed;
+import javafx.application.Platform;
+import model.ExecutionMode;
 import model.SortingParameters;
-import sort.SortStep;
+import monitoring.SortMonitor;
+import sort.Operation;
+import sort.SortMetrics;
 import sort.SortingAlgorithm;
+import trace.EventRing;
+import trace.MappedTrace;
+import trace.SortTrace;
+import trace.StreamCursor;
+import trace.Trace;
+import trace.TraceCache;
+import trace.TraceCursor;
+import trace.TraceFileWriter;
+import trace.TraceLanes;
+import trace.TraceRecorder;
+import trace.WaitStrategy;
 import ui.VisualizationDisplay;
 
-import java.util.ArrayList;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Arrays;
-import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
 
-public class VisualizationController extends Observer {
+public class VisualizationController {
+
+    private static final int STREAM_CAPACITY = 4096;
+    private static final long CACHE_MEMORY_BYTES = Runtime.getRuntime().maxMemory() / 4;
+    private static final long CACHE_DISK_BYTES = 2L << 30;
+    private static final int RECORDER_BATCH = 4096;
 
     private final VisualizationDisplay display;
     private final SortAudioPlayer audio;
-    private final List<SortStep> steps = new ArrayList<>();
+    private final FrameRenderer renderer;
+    private final TraceCache cache = new TraceCache(CACHE_MEMORY_BYTES, CACHE_DISK_BYTES);
 
     private SortingParameters parameters;
-    private Thread sortThread;
+    private volatile Trace trace;
+    private TraceRecorder recorder;
+    private EventRing ring;
+    private volatile TraceLanes lanes;
+    private volatile Path temporaryTraceFile;
+    private volatile MappedTrace temporaryTrace;
+    private volatile Thread sortThread;
+    private volatile Thread playbackThread;
+    private volatile PlaybackClock clock;
+    private volatile SortingAlgorithm algorithm;
+    private volatile SortMetrics cachedMetrics;
     private volatile boolean running = false;
+    private int rangeMin = 0;
+    private int rangeMax = 1;
 
     public VisualizationController(VisualizationDisplay display, SortAudioPlayer audio) {
         this.display = display;
         this.audio = audio;
+        this.renderer = new FrameRenderer(display, audio, this::onPlaybackComplete, this::currentMetrics);
     }
 
     public void prepare(SortingParameters parameters) {
         stop();
+        releaseTemporaryTrace();
         this.parameters = parameters;
-        steps.clear();
         int[] col = parameters.getCollection();
-        int min = Arrays.stream(col).min().orElse(0);
-        int max = Arrays.stream(col).max().orElse(1);
-        audio.setRange(min, max);
+        rangeMin = Arrays.stream(col).min().orElse(0);
+        rangeMax = Arrays.stream(col).max().orElse(1);
+        audio.setRange(rangeMin, rangeMax);
         display.reset(col);
     }
 
     public void start() {
         if (parameters == null || running) return;
         running = true;
-        steps.clear();
+        clock = null;
+        algorithm = null;
+        cachedMetrics = null;
+        if (parameters.getTrace() != null) startReplay(parameters.getTrace());
+        else if (parameters.getExecutionMode() == ExecutionMode.PARALLEL) startParallel();
+        else if (parameters.isStreaming()) startStreaming();
+        else if (parameters.isRecordToDisk()) startDiskRecorded();
+        else startRecorded();
+    }
+
+    private void startReplay(Trace loaded) {
+        trace = loaded;
+        ring = null;
+        sortThread = new Thread(() -> play(loaded), "sort-playback");
+        sortThread.setDaemon(true);
+        sortThread.start();
+    }
+
+    private void startRecorded() {
+        SortTrace recording = new SortTrace(parameters.getCollection());
+        trace = recording;
+        recorder = recording;
+        ring = null;
 
         sortThread = new Thread(() -> {
-            SortingAlgorithm algorithm = SortingAlgorithmFactory.create(parameters.getAlgorithmType());
-            algorithm.attach(this);
-            algorithm.sort(parameters.getCollection());
-            replaySteps(parameters.getSpeed());
+            TraceCache.Key key = cacheKey();
+            if (playCached(key)) return;
+            if (!runSort()) return;
+            cache.put(key, recording, currentMetrics());
+            play(recording);
         });
         sortThread.setDaemon(true);
         sortThread.start();
     }
 
-    public void stop() {
-        running = false;
-        if (sortThread != null) sortThread.interrupt();
+    private void startParallel() {
+        SortTrace recording = new SortTrace(parameters.getCollection(), true);
+        TraceLanes workerLanes = new TraceLanes();
+        lanes = workerLanes;
+        trace = recording;
+        ring = null;
+
+        sortThread = new Thread(() -> {
+            TraceCache.Key key = cacheKey();
+            if (playCached(key)) return;
+            SortingAlgorithm parallel = track(SortingAlgorithmFactory.create(parameters.getAlgorithmType()));
+            try {
+                parallel.sortParallel(parameters.getCollection(), ForkJoinPool.commonPool(), workerLanes);
+                SortMonitor.get().completed();
+            } catch (CancellationException e) {
+                return;
+            }
+            if (!running) return;
+            workerLanes.mergeInto(recording);
+            cache.put(key, recording, currentMetrics());
+            play(recording);
+        });
+        sortThread.setDaemon(true);
+        sortThread.start();
+    }
+
+    private void startDiskRecorded() {
+        trace = null;
+        ring = null;
+        sortThread = new Thread(() -> {
+            TraceCache.Key key = cacheKey();
+            if (playCached(key)) return;
+            MappedTrace recorded;
+            try {
+                Path file = Files.createTempFile("sort-trace", ".strc");
+                file.toFile().deleteOnExit();
+                temporaryTraceFile = file;
+                String label = parameters.getAlgorithmType().name();
+                try (TraceFileWriter writer = new TraceFileWriter(file, parameters.getCollection(), label)) {
+                    recorder = writer;
+                    if (!runSort()) return;
+                }
+                recorded = MappedTrace.open(file);
+                temporaryTrace = recorded;
+                if (cache.put(key, recorded, currentMetrics())) {
+                    temporaryTrace = null;
+                    temporaryTraceFile = null;
+                }
+            } catch (IOException | UncheckedIOException e) {
+                running = false;
+                Platform.runLater(display::notifySortComplete);
+                return;
+            }
+            trace = recorded;
+            play(recorded);
+        });
+        sortThread.setDaemon(true);
+        sortThread.start();
     }
 
-    @Override
-    public void update(Observable o) {
-        if (o instanceof SortingAlgorithm algorithm) {
-            steps.add(algorithm.getCurrentStep());
+    private boolean runSort() {
+        SortingAlgorithm sequential = track(SortingAlgorithmFactory.create(parameters.getAlgorithmType()));
+        sequential.setEventSink((TraceRecorder) this::record);
+        try {
+            sequential.sort(parameters.getCollection());
+            SortMonitor.get().completed();
+            return true;
+        } catch (CancellationException e) {
+            return false;
         }
     }
 
-    private void replaySteps(SimulationSpeed speed) {
-        for (SortStep step : steps) {
-            if (!running) break;
-            int[] indices = step.getHighlightedIndices();
-            if (indices.length > 0 && indices[0] < step.getArrayState().length) {
-                audio.playTone(step.getArrayState()[indices[0]]);
+    private TraceCache.Key cacheKey() {
+        ExecutionMode mode = parameters.getExecutionMode() == ExecutionMode.PARALLEL ? ExecutionMode.PARALLEL : ExecutionMode.SEQUENTIAL;
+        return TraceCache.Key.of(parameters.getAlgorithmType().name(), mode.name(), parameters.getCollection());
+    }
+
+    private boolean playCached(TraceCache.Key key) {
+        TraceCache.Hit hit = cache.get(key, parameters.getCollection());
+        if (hit == null) return false;
+        cachedMetrics = hit.metrics();
+        trace = hit.trace();
+        play(hit.trace());
+        return true;
+    }
+
+    private SortingAlgorithm track(SortingAlgorithm created) {
+        algorithm = created;
+        SortMonitor.get().track(created);
+        return created;
+    }
+
+    private SortMetrics currentMetrics() {
+        SortingAlgorithm current = algorithm;
+        return current == null ? cachedMetrics : current.getMetrics();
+    }
+
+    private void startStreaming() {
+        EventRing stream = new EventRing(STREAM_CAPACITY, WaitStrategy.PARK);
+        ring = stream;
+        SortMonitor.get().trackStream(stream);
+        trace = null;
+
+        AtomicBoolean sorted = new AtomicBoolean();
+        sortThread = new Thread(() -> {
+            try {
+                sorted.set(runSort());
+            } finally {
+                stream.close();
+            }
+        }, "sort-producer");
+        sortThread.setDaemon(true);
+
+        PlaybackClock playback = new PlaybackClock(Integer.MAX_VALUE);
+        clock = playback;
+        renderer.begin(new StreamCursor(stream.subscribe("render", WaitStrategy.PARK), parameters.getCollection()), null, -1, playback);
+        EventRing.Consumer recorderConsumer = stream.subscribe("trace", WaitStrategy.PARK);
+        SortTrace recording = new SortTrace(parameters.getCollection());
+        TraceCache.Key key = cacheKey();
+        Thread.ofVirtual().name("sort-stream-recorder").start(() -> recordStream(recorderConsumer, recording, key, sorted));
+        sortThread.start();
+        startClock(playback, Pace.of(parameters.getSpeed()));
+    }
+
+    private void recordStream(EventRing.Consumer consumer, SortTrace recording, TraceCache.Key key, AtomicBoolean sorted) {
+        try {
+            while (consumer.await()) {
+                consumer.drainTo(recording, RECORDER_BATCH);
+                if (recording.byteSize() > CACHE_MEMORY_BYTES) return;
             }
-            javafx.application.Platform.runLater(() -> display.updateDisplay(step));
+        } catch (InterruptedException e) {
+            return;
+        } finally {
+            consumer.close();
+        }
+        if (sorted.get()) cache.put(key, recording, currentMetrics());
+    }
+
+    private void play(Trace recorded) {
+        PlaybackClock playback = new PlaybackClock(recorded.size());
+        clock = playback;
+        TraceCursor cursor = recorded.cursor();
+        Platform.runLater(() -> {
+            if (running && clock == playback) renderer.begin(cursor, cursor, recorded.size(), playback);
+        });
+        if (running) startClock(playback, Pace.choose(parameters.getSpeed(), parameters.getTargetDuration(), recorded.size()));
+    }
+
+    private void startClock(PlaybackClock playback, Pace pace) {
+        playbackThread = Thread.ofVirtual().name("sort-playback").start(() -> {
             try {
-                Thread.sleep(speed.getDelayMs());
+                playback.run(pace);
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
-                break;
             }
-        }
+        });
+    }
+
+    private void onPlaybackComplete() {
         audio.reset();
+        if (trace == null) {
+            running = false;
+            renderer.stop();
+            clock.stop();
+        }
+        display.notifySortComplete();
+    }
+
+    public void stop() {
         running = false;
-        javafx.application.Platform.runLater(display::notifySortComplete);
+        renderer.stop();
+        PlaybackClock current = clock;
+        if (current != null) current.stop();
+        if (ring != null) ring.close();
+        if (lanes != null) lanes.cancel();
+        if (sortThread != null) sortThread.interrupt();
+        if (playbackThread != null) playbackThread.interrupt();
+        releaseTemporaryTrace();
+    }
+
+    public boolean isSeekable() { return trace != null; }
+
+    public void exportTrace(Path path) throws IOException {
+        Trace current = trace;
+        if (current == null) throw new IllegalStateException("Aucune trace a exporter.");
+        String label = parameters.getAlgorithmType() == null ? "" : parameters.getAlgorithmType().name();
+        TraceFileWriter.write(current, path, label);
+    }
+
+    public void exportAudio(Path path) throws IOException {
+        Trace current = trace;
+        if (current == null) throw new IllegalStateException("Aucune trace a sonoriser.");
+        new WavRenderer(rangeMin, rangeMax, parameters.getSpeed().getDelayMs()).render(current, path);
+    }
+
+    private void releaseTemporaryTrace() {
+        if (temporaryTrace != null) {
+            try {
+                temporaryTrace.close();
+            } catch (IOException ignored) {
+            }
+            temporaryTrace = null;
+        }
+        if (temporaryTraceFile == null) return;
+        try {
+            Files.deleteIfExists(temporaryTraceFile);
+        } catch (IOException ignored) {
+        }
+        temporaryTraceFile = null;
+    }
+
+    public boolean isPaused() {
+        PlaybackClock current = clock;
+        return current != null && current.isPaused();
+    }
+
+    public void setPaused(boolean paused) {
+        PlaybackClock current = clock;
+        if (current != null) current.setPaused(paused);
+    }
+
+    public void seek(int target) {
+        PlaybackClock current = clock;
+        if (current != null && trace != null) current.seek(target);
+    }
+
+    public void stepForward() {
+        PlaybackClock current = clock;
+        if (current != null) current.step(1);
+    }
+
+    public void stepBack() {
+        PlaybackClock current = clock;
+        if (current != null && trace != null) current.step(-1);
+    }
+
+    private void record(Operation operation, int first, int second) {
+        if (!running || Thread.currentThread() != sortThread) throw new CancellationException();
+        if (ring != null) publish(operation, first, second);
+        else recorder.append(operation, first, second);
+    }
+
+    private void publish(Operation operation, int first, int second) {
+        try {
+            if (!ring.publish(operation, first, second)) throw new CancellationException();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException();
+        }
     }
 }
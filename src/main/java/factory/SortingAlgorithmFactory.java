@@ -3,18 +3,37 @@ package factory;
 import sort.SortingAlgorithm;
 import sort.QuickSort;
 import sort.MergeSort;
+import sort.IntroSort;
+import sort.BottomUpMergeSort;
+import sort.NaturalMergeSort;
+import sort.RadixSort;
+import sort.CountingSort;
 
 public class SortingAlgorithmFactory {
 
     public enum AlgorithmType {
         QUICK_SORT,
-        MERGE_SORT
+        MERGE_SORT,
+        INTRO_SORT,
+        BOTTOM_UP_MERGE_SORT,
+        NATURAL_MERGE_SORT,
+        RADIX_SORT_8,
+        RADIX_SORT_11,
+        RADIX_SORT_16,
+        COUNTING_SORT
     }
 
     public static SortingAlgorithm create(AlgorithmType type) {
         return switch (type) {
             case QUICK_SORT -> new QuickSort();
             case MERGE_SORT -> new MergeSort();
+            case INTRO_SORT -> new IntroSort();
+            case BOTTOM_UP_MERGE_SORT -> new BottomUpMergeSort();
+            case NATURAL_MERGE_SORT -> new NaturalMergeSort();
+            case RADIX_SORT_8 -> new RadixSort(8);
+            case RADIX_SORT_11 -> new RadixSort(11);
+            case RADIX_SORT_16 -> new RadixSort(16);
+            case COUNTING_SORT -> new CountingSort();
         };
     }
 }
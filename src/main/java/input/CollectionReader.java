@@ -0,0 +1,167 @@
+package input;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.CancellationException;
+
+public final class CollectionReader {
+
+    public enum Format {
+        TEXT,
+        RAW_INT32;
+
+        public static Format detect(Path path) {
+            String name = path.getFileName().toString().toLowerCase(Locale.ROOT);
+            return name.endsWith(".bin") || name.endsWith(".i32") || name.endsWith(".raw") ? RAW_INT32 : TEXT;
+        }
+    }
+
+    @FunctionalInterface
+    public interface Progress {
+        void update(long done, long total);
+    }
+
+    static final long WINDOW = 64L << 20;
+    private static final int REPORT_BYTES = 1 << 20;
+    private static final int MAX_ARRAY = Integer.MAX_VALUE - 8;
+
+    private CollectionReader() {}
+
+    public static int[] read(Path path) throws IOException {
+        return read(path, Format.detect(path), null);
+    }
+
+    public static int[] read(Path path, Format format, Progress progress) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            return format == Format.RAW_INT32 ? readRaw(channel, size, progress) : readText(channel, size, progress);
+        }
+    }
+
+    public static int[] parse(String text) {
+        TextParser parser = new TextParser(Math.max(16, text.length() / 4));
+        parser.feed(ByteBuffer.wrap(text.getBytes(StandardCharsets.ISO_8859_1)), null, 0, 0);
+        return parser.finish(text.length());
+    }
+
+    private static int[] readRaw(FileChannel channel, long size, Progress progress) throws IOException {
+        if (size % Integer.BYTES != 0) throw new IOException("Taille de fichier non multiple de 4 : " + size + " octets");
+        if (size / Integer.BYTES > MAX_ARRAY) throw new IOException("Fichier trop grand : " + size / Integer.BYTES + " valeurs");
+        int[] values = new int[(int) (size / Integer.BYTES)];
+        for (long position = 0; position < size; position += WINDOW) {
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(WINDOW, size - position));
+            window.order(ByteOrder.LITTLE_ENDIAN);
+            int offset = (int) (position / Integer.BYTES);
+            int count = window.remaining() / Integer.BYTES;
+            for (int done = 0; done < count; done += REPORT_BYTES / Integer.BYTES) {
+                checkCancelled();
+                int length = Math.min(REPORT_BYTES / Integer.BYTES, count - done);
+                window.asIntBuffer().get(done, values, offset + done, length);
+                if (progress != null) progress.update(position + (long) (done + length) * Integer.BYTES, size);
+            }
+        }
+        return values;
+    }
+
+    private static int[] readText(FileChannel channel, long size, Progress progress) throws IOException {
+        TextParser parser = new TextParser((int) Math.min(MAX_ARRAY, Math.max(16, size / 8)));
+        for (long position = 0; position < size; position += WINDOW) {
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(WINDOW, size - position));
+            parser.feed(window, progress, position, size);
+        }
+        return parser.finish(size);
+    }
+
+    private static void checkCancelled() {
+        if (Thread.currentThread().isInterrupted()) throw new CancellationException();
+    }
+
+    private static final class TextParser {
+
+        private int[] values;
+        private int count = 0;
+        private long value = 0;
+        private boolean negative = false;
+        private boolean inNumber = false;
+        private boolean signOnly = false;
+        private boolean separated = true;
+
+        TextParser(int capacity) {
+            values = new int[capacity];
+        }
+
+        void feed(ByteBuffer buffer, Progress progress, long base, long total) {
+            int limit = buffer.limit();
+            long value = this.value;
+            boolean negative = this.negative;
+            boolean inNumber = this.inNumber;
+            boolean signOnly = this.signOnly;
+            boolean separated = this.separated;
+            for (int start = buffer.position(); start < limit; start += REPORT_BYTES) {
+                checkCancelled();
+                int end = Math.min(limit, start + REPORT_BYTES);
+                for (int i = start; i < end; i++) {
+                    int digit = buffer.get(i) - '0';
+                    if (digit >= 0 && digit <= 9) {
+                        value = value * 10 + digit;
+                        if (value > Integer.MAX_VALUE + (negative ? 1L : 0L)) {
+                            throw new IllegalArgumentException("Valeur hors limites pres de l'octet " + (base + i));
+                        }
+                        inNumber = true;
+                        signOnly = false;
+                        continue;
+                    }
+                    byte b = buffer.get(i);
+                    boolean delimiter = b == ',' || b == ';';
+                    if (delimiter || b == ' ' || b == '\t' || b == '\n' || b == '\r') {
+                        if (signOnly) throw new IllegalArgumentException("Signe sans chiffres pres de l'octet " + (base + i));
+                        if (delimiter && separated && !inNumber) {
+                            throw new IllegalArgumentException("Valeur invalide : \"\" pres de l'octet " + (base + i));
+                        }
+                        if (inNumber) {
+                            add(negative ? (int) -value : (int) value);
+                            value = 0;
+                            negative = false;
+                            inNumber = false;
+                            separated = false;
+                        }
+                        if (delimiter) separated = true;
+                    } else if ((b == '-' || b == '+') && !inNumber && !signOnly) {
+                        negative = b == '-';
+                        signOnly = true;
+                    } else {
+                        throw new IllegalArgumentException("Caractere invalide '" + (char) (b & 0xFF) + "' pres de l'octet " + (base + i));
+                    }
+                }
+                if (progress != null) progress.update(base + end, total);
+            }
+            this.value = value;
+            this.negative = negative;
+            this.inNumber = inNumber;
+            this.signOnly = signOnly;
+            this.separated = separated;
+        }
+
+        private void add(int parsed) {
+            if (count == values.length) {
+                if (count == MAX_ARRAY) throw new IllegalArgumentException("Trop de valeurs : plus de " + MAX_ARRAY);
+                values = Arrays.copyOf(values, (int) Math.min(MAX_ARRAY, count + (count >> 1) + 16L));
+            }
+            values[count++] = parsed;
+        }
+
+        int[] finish(long length) {
+            if (signOnly) throw new IllegalArgumentException("Signe sans chiffres pres de l'octet " + length);
+            if (inNumber) add(negative ? (int) -value : (int) value);
+            return count == values.length ? values : Arrays.copyOf(values, count);
+        }
+    }
+}
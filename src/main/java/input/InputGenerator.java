@@ -0,0 +1,110 @@
+package input;
+
+import model.Distribution;
+
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+public final class InputGenerator {
+
+    static final int CHUNK = 1 << 16;
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private static final int FEW_UNIQUE_BITS = 3;
+    private static final int FEW_UNIQUE_VALUES = 1 << FEW_UNIQUE_BITS;
+    private static final int SAWTOOTH_TEETH = 16;
+    private static final int NEARLY_SORTED_RATIO = 100;
+
+    private InputGenerator() {}
+
+    public static int[] generate(Distribution distribution, int size, long seed) {
+        return generate(distribution, size, seed, defaultSwaps(size));
+    }
+
+    public static int[] generate(Distribution distribution, int size, long seed, int swaps) {
+        if (size < 0) throw new IllegalArgumentException("Taille negative : " + size);
+        if (swaps < 0) throw new IllegalArgumentException("Nombre d'echanges negatif : " + swaps);
+        int[] values = new int[size];
+        fill(values, distribution, seed, swaps);
+        return values;
+    }
+
+    public static int defaultSwaps(int size) {
+        return Math.max(1, size / NEARLY_SORTED_RATIO);
+    }
+
+    public static void fill(int[] values, Distribution distribution, long seed, int swaps) {
+        int size = values.length;
+        int chunks = (size + CHUNK - 1) / CHUNK;
+        IntStream.range(0, chunks).parallel().forEach(chunk ->
+                fillChunk(values, distribution, seed, chunk * CHUNK, Math.min(size, (chunk + 1) * CHUNK)));
+        if (distribution == Distribution.NEARLY_SORTED) shuffleSome(values, seed, swaps);
+    }
+
+    private static void fillChunk(int[] values, Distribution distribution, long seed, int from, int to) {
+        int size = values.length;
+        switch (distribution) {
+            case UNIFORM -> {
+                SplittableRandom random = chunkRandom(seed, from);
+                long bound = Math.max(size, 1);
+                for (int i = from; i < to; i++) values[i] = (int) (((random.nextInt() & 0xFFFFFFFFL) * bound) >>> 32);
+            }
+            case SORTED, NEARLY_SORTED -> {
+                for (int i = from; i < to; i++) values[i] = i;
+            }
+            case REVERSED -> {
+                for (int i = from; i < to; i++) values[i] = size - i;
+            }
+            case FEW_UNIQUE -> {
+                SplittableRandom random = chunkRandom(seed, from);
+                int step = Math.max(1, size / FEW_UNIQUE_VALUES);
+                long bits = 0;
+                for (int i = from, left = 0; i < to; i++, left--) {
+                    if (left == 0) {
+                        bits = random.nextLong();
+                        left = Long.SIZE / FEW_UNIQUE_BITS;
+                    }
+                    values[i] = (int) (bits & (FEW_UNIQUE_VALUES - 1)) * step;
+                    bits >>>= FEW_UNIQUE_BITS;
+                }
+            }
+            case SAWTOOTH -> {
+                int period = Math.max(2, (size + SAWTOOTH_TEETH - 1) / SAWTOOTH_TEETH);
+                for (int i = from, value = from % period; i < to; i++) {
+                    values[i] = value;
+                    if (++value == period) value = 0;
+                }
+            }
+            case ORGAN_PIPE -> {
+                for (int i = from; i < to; i++) values[i] = Math.min(i, size - 1 - i);
+            }
+            case QUICKSORT_KILLER -> {
+                int k = size / 2;
+                for (int i = from; i < Math.min(to, k); i++) values[i] = (i & 1) == 0 ? i + 1 : k + i;
+                for (int i = Math.max(from, k); i < Math.min(to, 2 * k); i++) values[i] = 2 * (i - k + 1);
+                if (to > 2 * k) values[2 * k] = size;
+            }
+        }
+    }
+
+    private static void shuffleSome(int[] values, long seed, int swaps) {
+        SplittableRandom random = new SplittableRandom(mix(seed ^ GOLDEN_GAMMA));
+        int size = values.length;
+        for (int s = 0; s < swaps && size > 1; s++) {
+            int i = random.nextInt(size);
+            int j = random.nextInt(size);
+            int temp = values[i];
+            values[i] = values[j];
+            values[j] = temp;
+        }
+    }
+
+    private static SplittableRandom chunkRandom(long seed, int from) {
+        return new SplittableRandom(mix(seed + (from / CHUNK + 1) * GOLDEN_GAMMA));
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
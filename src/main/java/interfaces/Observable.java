@@ -1,20 +1,23 @@
 package interfaces;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public class Observable {
 
-    private final List<Observer> observers = new ArrayList<>();
+    private final CopyOnWriteArrayList<Observer> observers = new CopyOnWriteArrayList<>();
 
     public void attach(Observer o) {
-        if (!observers.contains(o)) observers.add(o);
+        observers.addIfAbsent(o);
     }
 
     public void detach(Observer o) {
         observers.remove(o);
     }
 
+    protected boolean hasObservers() {
+        return !observers.isEmpty();
+    }
+
     protected void notifyObservers() {
         for (Observer o : observers) o.update(this);
     }
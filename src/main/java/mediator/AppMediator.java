@@ -2,28 +2,35 @@ package mediator;
 
 import javafx.scene.Scene;
 import javafx.stage.Stage;
+import model.RaceParameters;
 import model.SortingParameters;
 import ui.ParameterPage;
+import ui.RacePage;
 import ui.VisualizationPage;
 
 public class AppMediator implements Mediator {
 
     public static final String EVT_START_SORT = "START_SORT";
+    public static final String EVT_START_RACE = "START_RACE";
     public static final String EVT_BACK = "BACK";
     public static final String EVT_SORT_COMPLETE = "SORT_COMPLETE";
 
     private final Stage stage;
     private final ParameterPage parameterPage;
     private final VisualizationPage visualizationPage;
+    private final RacePage racePage;
     private final Scene paramScene;
     private final Scene vizScene;
+    private final Scene raceScene;
 
     public AppMediator(Stage stage) {
         this.stage = stage;
         parameterPage = new ParameterPage(this);
         visualizationPage = new VisualizationPage(this);
-        paramScene = new Scene(parameterPage.getRoot(), 700, 480);
+        racePage = new RacePage(this);
+        paramScene = new Scene(parameterPage.getRoot(), 700, 760);
         vizScene = new Scene(visualizationPage.getRoot(), 950, 580);
+        raceScene = new Scene(racePage.getRoot(), 950, 640);
     }
 
     public void start() {
@@ -42,8 +49,16 @@ public class AppMediator implements Mediator {
                 stage.setScene(vizScene);
                 visualizationPage.startSort();
             }
+            case EVT_START_RACE -> {
+                RaceParameters params = (RaceParameters) data;
+                racePage.prepare(params);
+                stage.setScene(raceScene);
+                racePage.startRace();
+            }
             case EVT_BACK -> {
-                visualizationPage.stopSort();
+                if (sender == racePage) racePage.stopRace();
+                else visualizationPage.stopSort();
+                parameterPage.releaseTrace();
                 stage.setScene(paramScene);
             }
             case EVT_SORT_COMPLETE -> visualizationPage.onSortComplete();
@@ -0,0 +1,34 @@
+package model;
+
+public enum Distribution {
+
+    UNIFORM("Aleatoire uniforme"),
+    SORTED("Triee"),
+    REVERSED("Inversee"),
+    NEARLY_SORTED("Presque triee"),
+    FEW_UNIQUE("Peu de valeurs distinctes"),
+    SAWTOOTH("Dents de scie"),
+    ORGAN_PIPE("Tuyaux d'orgue"),
+    QUICKSORT_KILLER("Anti-quicksort (mediane de 3)");
+
+    private final String label;
+
+    Distribution(String label) {
+        this.label = label;
+    }
+
+    public static Distribution parse(String name) {
+        String normalized = name.trim().toUpperCase().replace('-', '_');
+        if (normalized.equals("RANDOM")) return UNIFORM;
+        try {
+            return valueOf(normalized);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Distribution inconnue : " + name);
+        }
+    }
+
+    public String getKey() { return name().toLowerCase().replace('_', '-'); }
+
+    @Override
+    public String toString() { return label; }
+}
@@ -0,0 +1,7 @@
+package model;
+
+public enum ExecutionMode {
+    SEQUENTIAL,
+    PARALLEL,
+    FAST
+}
@@ -0,0 +1,27 @@
+package model;
+
+import factory.SortingAlgorithmFactory.AlgorithmType;
+
+import java.time.Duration;
+import java.util.List;
+
+public class RaceParameters {
+
+    private final int[] collection;
+    private final List<AlgorithmType> algorithmTypes;
+    private final SimulationSpeed speed;
+    private final Duration targetDuration;
+
+    public RaceParameters(int[] collection, List<AlgorithmType> algorithmTypes, SimulationSpeed speed, Duration targetDuration) {
+        if (algorithmTypes.size() < 2) throw new IllegalArgumentException("Choisir au moins 2 algorithmes pour une course.");
+        this.collection = collection;
+        this.algorithmTypes = List.copyOf(algorithmTypes);
+        this.speed = speed;
+        this.targetDuration = targetDuration;
+    }
+
+    public int[] getCollection() { return collection; }
+    public List<AlgorithmType> getAlgorithmTypes() { return algorithmTypes; }
+    public SimulationSpeed getSpeed() { return speed; }
+    public Duration getTargetDuration() { return targetDuration; }
+}
@@ -4,7 +4,8 @@ public enum SimulationSpeed {
 
     SLOW(800),
     NORMAL(300),
-    FAST(80);
+    FAST(80),
+    TURBO(4);
 
     private final int delayMs;
 
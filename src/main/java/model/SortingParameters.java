@@ -1,12 +1,23 @@
 package model;
 
 import factory.SortingAlgorithmFactory.AlgorithmType;
+import trace.Trace;
+
+import java.time.Duration;
 
 public class SortingParameters {
 
     private int[] collection;
     private AlgorithmType algorithmType;
     private SimulationSpeed speed;
+    private Duration targetDuration;
+    private ExecutionMode executionMode = ExecutionMode.SEQUENTIAL;
+    private boolean streaming = false;
+    private boolean recordToDisk = false;
+    private Trace trace;
+    private Distribution distribution;
+    private long seed;
+    private int swaps;
 
     public SortingParameters(int[] collection, AlgorithmType algorithmType, SimulationSpeed speed) {
         this.collection = collection;
@@ -14,10 +25,32 @@ public class SortingParameters {
         this.speed = speed;
     }
 
+    public static SortingParameters generated(int[] collection, Distribution distribution, long seed, int swaps,
+                                              AlgorithmType algorithmType, SimulationSpeed speed) {
+        SortingParameters parameters = new SortingParameters(collection, algorithmType, speed);
+        parameters.distribution = distribution;
+        parameters.seed = seed;
+        parameters.swaps = swaps;
+        return parameters;
+    }
+
     public int[] getCollection() { return collection; }
     public void setCollection(int[] collection) { this.collection = collection; }
     public AlgorithmType getAlgorithmType() { return algorithmType; }
     public void setAlgorithmType(AlgorithmType algorithmType) { this.algorithmType = algorithmType; }
     public SimulationSpeed getSpeed() { return speed; }
     public void setSpeed(SimulationSpeed speed) { this.speed = speed; }
+    public Duration getTargetDuration() { return targetDuration; }
+    public void setTargetDuration(Duration targetDuration) { this.targetDuration = targetDuration; }
+    public ExecutionMode getExecutionMode() { return executionMode; }
+    public void setExecutionMode(ExecutionMode executionMode) { this.executionMode = executionMode; }
+    public boolean isStreaming() { return streaming; }
+    public void setStreaming(boolean streaming) { this.streaming = streaming; }
+    public boolean isRecordToDisk() { return recordToDisk; }
+    public void setRecordToDisk(boolean recordToDisk) { this.recordToDisk = recordToDisk; }
+    public Trace getTrace() { return trace; }
+    public void setTrace(Trace trace) { this.trace = trace; }
+    public Distribution getDistribution() { return distribution; }
+    public long getSeed() { return seed; }
+    public int getSwaps() { return swaps; }
 }
@@ -0,0 +1,90 @@
+package monitoring;
+
+import sort.SortMetrics;
+import sort.SortingAlgorithm;
+import trace.EventRing;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+public final class SortMonitor implements SortMonitorMXBean {
+
+    public static final String OBJECT_NAME = "sortvis:type=SortMonitor";
+    private static final SortMonitor INSTANCE = register(new SortMonitor());
+    private static final SortMetrics IDLE = new SortMetrics("-", 0, 0, 0, 0, 0, 0, 0, false);
+
+    private volatile SortingAlgorithm current;
+    private volatile EventRing stream;
+    private final AtomicLong completedSorts = new AtomicLong();
+
+    private SortMonitor() {}
+
+    public static SortMonitor get() { return INSTANCE; }
+
+    private static SortMonitor register(SortMonitor monitor) {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(monitor, new ObjectName(OBJECT_NAME));
+        } catch (JMException | SecurityException ignored) {
+        }
+        return monitor;
+    }
+
+    public void track(SortingAlgorithm algorithm) {
+        current = algorithm;
+    }
+
+    public void trackStream(EventRing ring) {
+        stream = ring;
+    }
+
+    public void completed() {
+        completedSorts.incrementAndGet();
+    }
+
+    public SortMetrics snapshot() {
+        SortingAlgorithm algorithm = current;
+        return algorithm == null ? IDLE : algorithm.getMetrics();
+    }
+
+    @Override
+    public String getAlgorithm() { return snapshot().algorithm(); }
+    @Override
+    public boolean isRunning() {
+        SortingAlgorithm algorithm = current;
+        return algorithm != null && !algorithm.getMetrics().complete();
+    }
+    @Override
+    public long getComparisons() { return snapshot().comparisons(); }
+    @Override
+    public long getSwaps() { return snapshot().swaps(); }
+    @Override
+    public long getWrites() { return snapshot().writes(); }
+    @Override
+    public long getAuxiliaryBytes() { return snapshot().auxiliaryBytes(); }
+    @Override
+    public int getMaxRecursionDepth() { return snapshot().maxRecursionDepth(); }
+    @Override
+    public long getInitializeNanos() { return snapshot().initializeNanos(); }
+    @Override
+    public long getSortNanos() { return snapshot().sortNanos(); }
+    @Override
+    public long getCompletedSorts() { return completedSorts.get(); }
+    @Override
+    public Map<String, Long> getStreamConsumerLags() {
+        EventRing ring = stream;
+        return ring == null ? Map.of() : ring.getConsumerLags();
+    }
+    @Override
+    public Map<String, Long> getStreamConsumerMaxLags() {
+        EventRing ring = stream;
+        return ring == null ? Map.of() : ring.getConsumerMaxLags();
+    }
+    @Override
+    public long getStreamProducerStalls() {
+        EventRing ring = stream;
+        return ring == null ? 0 : ring.getProducerStalls();
+    }
+}
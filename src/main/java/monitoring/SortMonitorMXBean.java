@@ -0,0 +1,19 @@
+package monitoring;
+
+import java.util.Map;
+
+public interface SortMonitorMXBean {
+    String getAlgorithm();
+    boolean isRunning();
+    long getComparisons();
+    long getSwaps();
+    long getWrites();
+    long getAuxiliaryBytes();
+    int getMaxRecursionDepth();
+    long getInitializeNanos();
+    long getSortNanos();
+    long getCompletedSorts();
+    Map<String, Long> getStreamConsumerLags();
+    Map<String, Long> getStreamConsumerMaxLags();
+    long getStreamProducerStalls();
+}
@@ -0,0 +1,61 @@
+package sort;
+
+public class BottomUpMergeSort extends SortingAlgorithm {
+
+    private int[] aux;
+
+    @Override
+    public String getName() { return "Bottom-Up Merge Sort"; }
+
+    @Override
+    protected void initialize() {
+        if (aux == null || aux.length != array.length) aux = allocate(array.length);
+    }
+
+    @Override
+    protected void initializeWorker(SortingAlgorithm owner) {
+        aux = ((BottomUpMergeSort) owner).aux;
+    }
+
+    @Override
+    protected void fastSort(int[] array) {
+        countAllocation(FastKernels.get().mergeSort(array));
+    }
+
+    @Override
+    protected void performSort(int[] array, int low, int high) {
+        int[] source = array;
+        for (int width = 1; width < high - low + 1; width *= 2) {
+            for (int start = low; start <= high; start += 2 * width) {
+                int mid = Math.min(start + width - 1, high);
+                int end = Math.min(start + 2 * width - 1, high);
+                if (mid < end) merge(source, start, mid, end);
+                else System.arraycopy(source, start, other(source), start, end - start + 1);
+            }
+            source = other(source);
+        }
+        if (source != array) System.arraycopy(source, low, array, low, high - low + 1);
+    }
+
+    @Override
+    protected int divide(int[] array, int low, int high) {
+        return (low + high) >>> 1;
+    }
+
+    @Override
+    protected void merge(int[] source, int low, int mid, int high) {
+        int[] target = other(source);
+        int i = low, j = mid + 1, k = low;
+        while (i <= mid && j <= high) {
+            compare(i, j);
+            if (source[i] <= source[j]) write(target, k++, source[i++]);
+            else write(target, k++, source[j++]);
+        }
+        while (i <= mid) write(target, k++, source[i++]);
+        while (j <= high) write(target, k++, source[j++]);
+    }
+
+    private int[] other(int[] buffer) {
+        return buffer == aux ? array : aux;
+    }
+}
@@ -0,0 +1,45 @@
+package sort;
+
+public class CountingSort extends RadixSort {
+
+    static final int MAX_RANGE = 1 << 24;
+    private static final int FALLBACK_DIGIT_BITS = 16;
+
+    public CountingSort() {
+        super(FALLBACK_DIGIT_BITS);
+    }
+
+    @Override
+    public String getName() { return "Counting Sort"; }
+
+    @Override
+    protected SortingAlgorithm newWorker() { return new CountingSort(); }
+
+    @Override
+    protected void initialize() {}
+
+    @Override
+    protected void performSort(int[] array, int low, int high) {
+        if (low >= high) return;
+        int min = array[low], max = array[low];
+        for (int i = low + 1; i <= high; i++) {
+            if (array[i] < min) min = array[i];
+            else if (array[i] > max) max = array[i];
+        }
+        long range = (long) max - min + 1;
+        if (range > MAX_RANGE || range > Math.max(4L * (high - low + 1), 1 << 16)) {
+            ensureAux();
+            super.performSort(array, low, high);
+            return;
+        }
+        int[] count = allocate((int) range);
+        for (int i = low; i <= high; i++) {
+            histogram(i, array[i] - min);
+            count[array[i] - min]++;
+        }
+        int k = low;
+        for (int bucket = 0; bucket < count.length; bucket++) {
+            for (int c = count[bucket]; c > 0; c--) scatter(array, k++, bucket + min);
+        }
+    }
+}
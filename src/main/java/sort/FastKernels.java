@@ -0,0 +1,106 @@
+package sort;
+
+import java.util.Arrays;
+
+public abstract class FastKernels {
+
+    public static final String VECTOR_MODULE = "jdk.incubator.vector";
+
+    private static final int INSERTION_CUTOFF = 32;
+    private static final int MERGE_BLOCK = 32;
+    private static final FastKernels INSTANCE = load();
+
+    public static FastKernels get() { return INSTANCE; }
+
+    public abstract String getName();
+
+    protected abstract int partition(int[] array, int from, int to, int pivot, boolean inclusive,
+                                     int[] less, int[] greater);
+
+    protected abstract void merge(int[] source, int[] target, int low, int mid, int high, int[] scratch);
+
+    protected abstract int slack();
+
+    public final long quickSort(int[] array) {
+        int[] less = new int[array.length + slack()];
+        int[] greater = new int[array.length + slack()];
+        int depth = 2 * (32 - Integer.numberOfLeadingZeros(Math.max(1, array.length)));
+        quickSort(array, 0, array.length, depth, less, greater);
+        return 2L * Integer.BYTES * (array.length + slack());
+    }
+
+    public final long mergeSort(int[] array) {
+        int n = array.length;
+        if (n < 2) return 0;
+        for (int low = 0; low < n; low += MERGE_BLOCK) insertionSort(array, low, Math.min(low + MERGE_BLOCK, n));
+        int[] aux = new int[n];
+        int[] scratch = new int[slack()];
+        int[] source = array, target = aux;
+        for (int width = MERGE_BLOCK; width < n; width *= 2) {
+            for (int low = 0; low < n; low += 2 * width) {
+                int mid = Math.min(low + width, n);
+                int high = Math.min(low + 2 * width, n);
+                if (mid < high) merge(source, target, low, mid, high, scratch);
+                else System.arraycopy(source, low, target, low, high - low);
+            }
+            int[] swap = source;
+            source = target;
+            target = swap;
+        }
+        if (source != array) System.arraycopy(source, 0, array, 0, n);
+        return (long) Integer.BYTES * (n + slack());
+    }
+
+    private void quickSort(int[] array, int from, int to, int depth, int[] less, int[] greater) {
+        while (to - from > INSERTION_CUTOFF) {
+            if (depth-- == 0) {
+                Arrays.sort(array, from, to);
+                return;
+            }
+            int pivot = medianOfThree(array[from], array[(from + to) >>> 1], array[to - 1]);
+            int split = partition(array, from, to, pivot, false, less, greater);
+            int end = split == from ? partition(array, from, to, pivot, true, less, greater) : split;
+            if (split - from < to - end) {
+                quickSort(array, from, split, depth, less, greater);
+                from = end;
+            } else {
+                quickSort(array, end, to, depth, less, greater);
+                to = split;
+            }
+        }
+        insertionSort(array, from, to);
+    }
+
+    protected static void scalarMerge(int[] source, int[] target, int low, int mid, int high) {
+        int i = low, j = mid, k = low;
+        while (i < mid && j < high) target[k++] = source[i] <= source[j] ? source[i++] : source[j++];
+        while (i < mid) target[k++] = source[i++];
+        while (j < high) target[k++] = source[j++];
+    }
+
+    private static void insertionSort(int[] array, int from, int to) {
+        for (int i = from + 1; i < to; i++) {
+            int value = array[i];
+            int j = i - 1;
+            while (j >= from && array[j] > value) {
+                array[j + 1] = array[j];
+                j--;
+            }
+            array[j + 1] = value;
+        }
+    }
+
+    private static int medianOfThree(int a, int b, int c) {
+        return Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+    }
+
+    private static FastKernels load() {
+        if (ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent()) {
+            try {
+                return (FastKernels) Class.forName("sort.VectorKernels").getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError ignored) {
+            }
+        }
+        return new ScalarKernels();
+    }
+}
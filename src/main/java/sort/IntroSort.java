@@ -0,0 +1,141 @@
+package sort;
+
+public class IntroSort extends SortingAlgorithm {
+
+    private static final int INSERTION_CUTOFF = 16;
+    private static final int NINTHER_THRESHOLD = 128;
+
+    private int equalHigh;
+
+    @Override
+    public String getName() { return "Intro Sort"; }
+
+    @Override
+    protected void fastSort(int[] array) {
+        countAllocation(FastKernels.get().quickSort(array));
+    }
+
+    @Override
+    protected void performSort(int[] array, int low, int high) {
+        introsort(array, low, high, 2 * (31 - Integer.numberOfLeadingZeros(Math.max(1, high - low + 1))));
+    }
+
+    @Override
+    protected void performSort(int[] array, int low, int high, int budget) {
+        introsort(array, low, high, budget);
+    }
+
+    private void introsort(int[] array, int low, int high, int depth) {
+        while (high - low + 1 > INSERTION_CUTOFF) {
+            if (depth-- == 0) {
+                heapSort(array, low, high);
+                return;
+            }
+            int lt = divide(array, low, high);
+            int gt = equalHigh;
+            if (forks(high - low + 1)) {
+                sortBoth(array, low, lt - 1, gt + 1, high, depth);
+                return;
+            }
+            enterRecursion();
+            if (lt - low < high - gt) {
+                introsort(array, low, lt - 1, depth);
+                low = gt + 1;
+            } else {
+                introsort(array, gt + 1, high, depth);
+                high = lt - 1;
+            }
+            exitRecursion();
+        }
+        insertionSort(array, low, high);
+    }
+
+    @Override
+    protected int divide(int[] array, int low, int high) {
+        swap(array, low, choosePivot(array, low, high));
+        int pivot = array[low];
+        int i = low, j = high + 1;
+        int p = low, q = high + 1;
+        while (true) {
+            while (i < high) {
+                compare(++i, low);
+                if (array[i] >= pivot) break;
+            }
+            while (j > low) {
+                compare(low, --j);
+                if (array[j] <= pivot) break;
+            }
+            if (i == j && array[i] == pivot) swap(array, ++p, i);
+            if (i >= j) break;
+            swap(array, i, j);
+            if (array[i] == pivot) swap(array, ++p, i);
+            if (array[j] == pivot) swap(array, --q, j);
+        }
+        i = j + 1;
+        for (int k = low; k <= p; k++) swap(array, k, j--);
+        for (int k = high; k >= q; k--) swap(array, k, i++);
+        equalHigh = i - 1;
+        return j + 1;
+    }
+
+    @Override
+    protected void merge(int[] array, int low, int mid, int high) {}
+
+    private int choosePivot(int[] array, int low, int high) {
+        int mid = (low + high) >>> 1;
+        if (high - low + 1 < NINTHER_THRESHOLD) return medianOfThree(array, low, mid, high);
+        int step = (high - low + 1) / 8;
+        int first = medianOfThree(array, low, low + step, low + 2 * step);
+        int second = medianOfThree(array, mid - step, mid, mid + step);
+        int third = medianOfThree(array, high - 2 * step, high - step, high);
+        return medianOfThree(array, first, second, third);
+    }
+
+    private int medianOfThree(int[] array, int a, int b, int c) {
+        compare(a, b);
+        if (array[a] < array[b]) {
+            compare(b, c);
+            if (array[b] < array[c]) return b;
+            compare(a, c);
+            return array[a] < array[c] ? c : a;
+        }
+        compare(a, c);
+        if (array[a] < array[c]) return a;
+        compare(b, c);
+        return array[b] < array[c] ? c : b;
+    }
+
+    private void insertionSort(int[] array, int low, int high) {
+        for (int i = low + 1; i <= high; i++) {
+            for (int j = i; j > low; j--) {
+                compare(j - 1, j);
+                if (array[j - 1] <= array[j]) break;
+                swap(array, j - 1, j);
+            }
+        }
+    }
+
+    private void heapSort(int[] array, int low, int high) {
+        int n = high - low + 1;
+        for (int root = n / 2 - 1; root >= 0; root--) siftDown(array, low, root, n);
+        for (int end = n - 1; end > 0; end--) {
+            swap(array, low, low + end);
+            siftDown(array, low, 0, end);
+        }
+    }
+
+    private void siftDown(int[] array, int offset, int root, int size) {
+        while (true) {
+            int child = 2 * root + 1;
+            if (child >= size) return;
+            if (child + 1 < size) {
+                compare(offset + child, offset + child + 1);
+                if (array[offset + child] < array[offset + child + 1]) child++;
+            }
+            compare(offset + root, offset + child);
+            if (array[offset + root] >= array[offset + child]) return;
+            swap(array, offset + root, offset + child);
+            root = child;
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package sort;
+
+public class NaturalMergeSort extends SortingAlgorithm {
+
+    private static final int MIN_RUN = 32;
+    private static final int MIN_GALLOP = 7;
+
+    private int[] aux;
+    private int[] runs;
+
+    @Override
+    public String getName() { return "Natural Merge Sort"; }
+
+    @Override
+    protected void initialize() {
+        if (aux == null || aux.length != array.length) aux = allocate(array.length);
+    }
+
+    @Override
+    protected void initializeWorker(SortingAlgorithm owner) {
+        aux = ((NaturalMergeSort) owner).aux;
+    }
+
+    @Override
+    protected void performSort(int[] array, int low, int high) {
+        if (low >= high) return;
+        int runCount = collectRuns(array, low, high);
+        int[] source = array;
+        while (runCount > 1) {
+            int merged = 0;
+            for (int r = 0; r < runCount; r += 2) {
+                int start = runs[r];
+                if (r + 1 < runCount) {
+                    int end = runs[r + 2] - 1;
+                    merge(source, start, runs[r + 1] - 1, end);
+                } else {
+                    System.arraycopy(source, start, other(source), start, runs[r + 1] - start);
+                }
+                runs[merged++] = start;
+            }
+            runs[merged] = high + 1;
+            runCount = merged;
+            source = other(source);
+        }
+        if (source != array) System.arraycopy(source, low, array, low, high - low + 1);
+    }
+
+    private int collectRuns(int[] array, int low, int high) {
+        runs = allocate((high - low) / MIN_RUN + 3);
+        int count = 0;
+        int start = low;
+        while (start <= high) {
+            int end = divide(array, start, high);
+            if (end - start + 1 < MIN_RUN && end < high) {
+                int forced = Math.min(start + MIN_RUN - 1, high);
+                insertionSort(array, start, end + 1, forced);
+                end = forced;
+            }
+            runs[count++] = start;
+            start = end + 1;
+        }
+        runs[count] = high + 1;
+        return count;
+    }
+
+    @Override
+    protected int divide(int[] array, int low, int high) {
+        if (low == high) return low;
+        int end = low + 1;
+        compare(low, end);
+        if (array[low] > array[end]) {
+            while (end < high) {
+                compare(end, end + 1);
+                if (array[end] <= array[end + 1]) break;
+                end++;
+            }
+            for (int i = low, j = end; i < j; i++, j--) swap(array, i, j);
+        } else {
+            while (end < high) {
+                compare(end, end + 1);
+                if (array[end] > array[end + 1]) break;
+                end++;
+            }
+        }
+        return end;
+    }
+
+    @Override
+    protected void merge(int[] source, int low, int mid, int high) {
+        int[] target = other(source);
+        compare(mid, mid + 1);
+        if (source[mid] <= source[mid + 1]) {
+            System.arraycopy(source, low, target, low, high - low + 1);
+            return;
+        }
+        int i = low, j = mid + 1, k = low;
+        int leftWins = 0, rightWins = 0;
+        while (i <= mid && j <= high) {
+            compare(i, j);
+            if (source[i] <= source[j]) {
+                write(target, k++, source[i++]);
+                rightWins = 0;
+                if (++leftWins >= MIN_GALLOP && i <= mid) {
+                    int end = gallop(source, i, mid, j, true);
+                    while (i < end) write(target, k++, source[i++]);
+                    leftWins = 0;
+                }
+            } else {
+                write(target, k++, source[j++]);
+                leftWins = 0;
+                if (++rightWins >= MIN_GALLOP && j <= high) {
+                    int end = gallop(source, j, high, i, false);
+                    while (j < end) write(target, k++, source[j++]);
+                    rightWins = 0;
+                }
+            }
+        }
+        while (i <= mid) write(target, k++, source[i++]);
+        while (j <= high) write(target, k++, source[j++]);
+    }
+
+    private int gallop(int[] source, int start, int last, int keyIndex, boolean inclusive) {
+        int key = source[keyIndex];
+        int below = start - 1;
+        int offset = 1;
+        while (start + offset - 1 <= last && precedes(source, start + offset - 1, keyIndex, key, inclusive)) {
+            below = start + offset - 1;
+            offset *= 2;
+        }
+        int above = Math.min(start + offset - 1, last + 1);
+        while (above - below > 1) {
+            int probe = (below + above) >>> 1;
+            if (precedes(source, probe, keyIndex, key, inclusive)) below = probe;
+            else above = probe;
+        }
+        return below + 1;
+    }
+
+    private boolean precedes(int[] source, int index, int keyIndex, int key, boolean inclusive) {
+        compare(index, keyIndex);
+        return inclusive ? source[index] <= key : source[index] < key;
+    }
+
+    private void insertionSort(int[] array, int low, int from, int high) {
+        for (int i = from; i <= high; i++) {
+            for (int j = i; j > low; j--) {
+                compare(j - 1, j);
+                if (array[j - 1] <= array[j]) break;
+                swap(array, j - 1, j);
+            }
+        }
+    }
+
+    private int[] other(int[] buffer) {
+        return buffer == aux ? array : aux;
+    }
+}
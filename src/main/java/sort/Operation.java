@@ -0,0 +1,11 @@
+package sort;
+
+public enum Operation {
+    START,
+    COMPARE,
+    SWAP,
+    WRITE,
+    COMPLETE,
+    HISTOGRAM,
+    SCATTER
+}
@@ -5,12 +5,16 @@ public class QuickSort extends SortingAlgorithm {
     @Override
     public String getName() { return "Quick Sort"; }
 
+    @Override
+    protected void fastSort(int[] array) {
+        countAllocation(FastKernels.get().quickSort(array));
+    }
+
     @Override
     protected void performSort(int[] array, int low, int high) {
         if (low < high) {
             int pivotIndex = divide(array, low, high);
-            performSort(array, low, pivotIndex - 1);
-            performSort(array, pivotIndex + 1, high);
+            sortBoth(array, low, pivotIndex - 1, pivotIndex + 1, high);
         }
     }
 
@@ -19,27 +23,16 @@ public class QuickSort extends SortingAlgorithm {
         int pivot = array[high];
         int i = low - 1;
         for (int j = low; j < high; j++) {
-            highlightedIndices = new int[]{j, high};
-            notifyObservers();
+            compare(j, high);
             if (array[j] <= pivot) {
                 i++;
                 swap(array, i, j);
-                highlightedIndices = new int[]{i, j};
-                notifyObservers();
             }
         }
         swap(array, i + 1, high);
-        highlightedIndices = new int[]{i + 1, high};
-        notifyObservers();
         return i + 1;
     }
 
     @Override
     protected void merge(int[] array, int low, int mid, int high) {}
-
-    private void swap(int[] array, int i, int j) {
-        int temp = array[i];
-        array[i] = array[j];
-        array[j] = temp;
-    }
 }
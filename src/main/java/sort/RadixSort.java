@@ -0,0 +1,125 @@
+package sort;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+public class RadixSort extends SortingAlgorithm {
+
+    static final int PARALLEL_HISTOGRAM_THRESHOLD = 1 << 18;
+
+    private final int digitBits;
+    private final int mask;
+    private final int passes;
+    private int[] aux;
+
+    public RadixSort(int digitBits) {
+        if (digitBits < 1 || digitBits > 16) throw new IllegalArgumentException("Taille de chiffre invalide : " + digitBits);
+        this.digitBits = digitBits;
+        this.mask = (1 << digitBits) - 1;
+        this.passes = (Integer.SIZE + digitBits - 1) / digitBits;
+    }
+
+    @Override
+    public String getName() { return "Radix Sort (" + digitBits + " bits)"; }
+
+    @Override
+    protected SortingAlgorithm newWorker() { return new RadixSort(digitBits); }
+
+    @Override
+    protected void initialize() {
+        ensureAux();
+    }
+
+    @Override
+    protected void initializeWorker(SortingAlgorithm owner) {
+        aux = ((RadixSort) owner).aux;
+    }
+
+    protected final void ensureAux() {
+        if (aux == null || aux.length != array.length) aux = allocate(array.length);
+    }
+
+    @Override
+    protected void performSort(int[] array, int low, int high) {
+        if (low >= high) return;
+        int[][] counts = isTraced() ? null : countAll(array, low, high);
+        int[] source = array;
+        for (int pass = 0; pass < passes; pass++) {
+            int shift = pass * digitBits;
+            int[] count = counts != null ? counts[pass] : countPass(source, low, high, shift);
+            if (count[digit(source[low], shift)] == high - low + 1) continue;
+            int[] offsets = allocate(count.length);
+            for (int bucket = 0, next = low; bucket < count.length; bucket++) {
+                offsets[bucket] = next;
+                next += count[bucket];
+            }
+            int[] target = other(source);
+            for (int i = low; i <= high; i++) {
+                int value = source[i];
+                scatter(target, offsets[digit(value, shift)]++, value);
+            }
+            source = target;
+        }
+        if (source != array) System.arraycopy(source, low, array, low, high - low + 1);
+    }
+
+    @Override
+    protected int divide(int[] array, int low, int high) {
+        return (low + high) >>> 1;
+    }
+
+    @Override
+    protected void merge(int[] array, int low, int mid, int high) {}
+
+    private int digit(int value, int shift) {
+        return ((value ^ Integer.MIN_VALUE) >>> shift) & mask;
+    }
+
+    private int[] countPass(int[] source, int low, int high, int shift) {
+        int[] count = allocate(mask + 1);
+        for (int i = low; i <= high; i++) {
+            int bucket = digit(source[i], shift);
+            histogram(i, bucket);
+            count[bucket]++;
+        }
+        return count;
+    }
+
+    private int[][] countAll(int[] source, int low, int high) {
+        int length = high - low + 1;
+        int chunks = length < PARALLEL_HISTOGRAM_THRESHOLD ? 1
+                : Math.min(ForkJoinPool.getCommonPoolParallelism(), length / (PARALLEL_HISTOGRAM_THRESHOLD / 4));
+        countAllocation((long) Integer.BYTES * Math.max(1, chunks) * passes * (mask + 1));
+        if (chunks <= 1) return countRange(source, low, high + 1);
+        List<ForkJoinTask<int[][]>> tasks = new ArrayList<>();
+        for (int c = 0; c < chunks; c++) {
+            int from = low + (int) ((long) c * length / chunks);
+            int to = low + (int) ((long) (c + 1) * length / chunks);
+            tasks.add(ForkJoinTask.adapt(() -> countRange(source, from, to)));
+        }
+        ForkJoinTask.invokeAll(tasks);
+        int[][] total = tasks.get(0).join();
+        for (int c = 1; c < chunks; c++) {
+            int[][] partial = tasks.get(c).join();
+            for (int pass = 0; pass < passes; pass++) {
+                for (int bucket = 0; bucket <= mask; bucket++) total[pass][bucket] += partial[pass][bucket];
+            }
+        }
+        return total;
+    }
+
+    private int[][] countRange(int[] source, int from, int to) {
+        int[][] count = new int[passes][mask + 1];
+        for (int i = from; i < to; i++) {
+            int key = source[i] ^ Integer.MIN_VALUE;
+            for (int pass = 0; pass < passes; pass++) count[pass][(key >>> (pass * digitBits)) & mask]++;
+        }
+        return count;
+    }
+
+    private int[] other(int[] buffer) {
+        return buffer == aux ? array : aux;
+    }
+}
@@ -0,0 +1,28 @@
+package sort;
+
+class ScalarKernels extends FastKernels {
+
+    @Override
+    public String getName() { return "scalar"; }
+
+    @Override
+    protected int slack() { return 0; }
+
+    @Override
+    protected int partition(int[] array, int from, int to, int pivot, boolean inclusive, int[] less, int[] greater) {
+        int l = 0, g = 0;
+        for (int i = from; i < to; i++) {
+            int value = array[i];
+            if (inclusive ? value <= pivot : value < pivot) less[l++] = value;
+            else greater[g++] = value;
+        }
+        System.arraycopy(less, 0, array, from, l);
+        System.arraycopy(greater, 0, array, from + l, g);
+        return from + l;
+    }
+
+    @Override
+    protected void merge(int[] source, int[] target, int low, int mid, int high, int[] scratch) {
+        scalarMerge(source, target, low, mid, high);
+    }
+}
@@ -0,0 +1,62 @@
+package sort;
+
+public interface SortEventSink {
+
+    void onCompare(int i, int j);
+
+    void onSwap(int i, int j);
+
+    void onWrite(int index, int value);
+
+    void onHistogram(int index, int bucket);
+
+    void onScatter(int index, int value);
+
+    void onPhase(Operation phase);
+
+    default long logicalTime() { return 0; }
+
+    default void advanceTo(long time) {}
+
+    static SortEventSink tee(SortEventSink first, SortEventSink second) {
+        if (first == null) return second;
+        if (second == null) return first;
+        return new SortEventSink() {
+            @Override
+            public void onCompare(int i, int j) {
+                first.onCompare(i, j);
+                second.onCompare(i, j);
+            }
+
+            @Override
+            public void onSwap(int i, int j) {
+                first.onSwap(i, j);
+                second.onSwap(i, j);
+            }
+
+            @Override
+            public void onWrite(int index, int value) {
+                first.onWrite(index, value);
+                second.onWrite(index, value);
+            }
+
+            @Override
+            public void onHistogram(int index, int bucket) {
+                first.onHistogram(index, bucket);
+                second.onHistogram(index, bucket);
+            }
+
+            @Override
+            public void onScatter(int index, int value) {
+                first.onScatter(index, value);
+                second.onScatter(index, value);
+            }
+
+            @Override
+            public void onPhase(Operation phase) {
+                first.onPhase(phase);
+                second.onPhase(phase);
+            }
+        };
+    }
+}
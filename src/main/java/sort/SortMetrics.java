@@ -0,0 +1,5 @@
+package sort;
+
+public record SortMetrics(String algorithm, long comparisons, long swaps, long writes, long auxiliaryBytes,
+                          int maxRecursionDepth, long initializeNanos, long sortNanos, boolean complete) {
+}
@@ -5,14 +5,29 @@ public class SortStep {
     private final int[] arrayState;
     private final int[] highlightedIndices;
     private final boolean sortComplete;
+    private final int[] changedIndices;
+    private final byte[] owners;
 
     public SortStep(int[] arrayState, int[] highlightedIndices, boolean sortComplete) {
+        this(arrayState, highlightedIndices, sortComplete, null);
+    }
+
+    public SortStep(int[] arrayState, int[] highlightedIndices, boolean sortComplete, int[] changedIndices) {
+        this(arrayState, highlightedIndices, sortComplete, changedIndices, null);
+    }
+
+    public SortStep(int[] arrayState, int[] highlightedIndices, boolean sortComplete, int[] changedIndices,
+                    byte[] owners) {
         this.arrayState = arrayState;
         this.highlightedIndices = highlightedIndices;
         this.sortComplete = sortComplete;
+        this.changedIndices = changedIndices;
+        this.owners = owners;
     }
 
     public int[] getArrayState() { return arrayState; }
     public int[] getHighlightedIndices() { return highlightedIndices; }
     public boolean isSortComplete() { return sortComplete; }
+    public int[] getChangedIndices() { return changedIndices; }
+    public byte[] getOwners() { return owners; }
 }
@@ -2,31 +2,412 @@ package sort;
 
 import interfaces.Observable;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntFunction;
+
 public abstract class SortingAlgorithm extends Observable {
 
+    public static final int MIN_PARALLEL_RANGE = 64;
+    private static final int[] NO_HIGHLIGHT = new int[0];
+    private static final int NO_BUDGET = -1;
+    private static final VarHandle COMPARISONS;
+    private static final VarHandle SWAPS;
+    private static final VarHandle WRITES;
+    private static final VarHandle AUX_BYTES;
+    private static final VarHandle MAX_DEPTH;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            COMPARISONS = lookup.findVarHandle(SortingAlgorithm.class, "comparisons", long.class);
+            SWAPS = lookup.findVarHandle(SortingAlgorithm.class, "swaps", long.class);
+            WRITES = lookup.findVarHandle(SortingAlgorithm.class, "writes", long.class);
+            AUX_BYTES = lookup.findVarHandle(SortingAlgorithm.class, "auxBytes", long.class);
+            MAX_DEPTH = lookup.findVarHandle(SortingAlgorithm.class, "maxDepth", int.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
     protected int[] array;
-    protected int[] highlightedIndices = new int[0];
-    private boolean sortComplete = false;
+    protected int[] highlightedIndices = NO_HIGHLIGHT;
+    private volatile boolean sortComplete = false;
+    private Operation lastOperation = Operation.START;
+    private int firstOperand = -1;
+    private int secondOperand = -1;
+    private long comparisons;
+    private long swaps;
+    private long writes;
+    private long auxBytes;
+    private int depth;
+    private int maxDepth;
+    private volatile long initializeNanos;
+    private volatile long sortStart;
+    private volatile long sortNanos;
+    private SortEventSink eventSink;
+    private SortEventSink sink;
+    private ParallelContext parallel;
 
     public final void sort(int[] data) {
-        this.array = data.clone();
-        this.sortComplete = false;
-        initialize();
-        notifyObservers();
+        begin(data);
+        sink = hasObservers() ? SortEventSink.tee(eventSink, new ObserverBridge()) : eventSink;
+        timedInitialize();
+        if (sink != null) sink.onPhase(Operation.START);
         performSort(array, 0, array.length - 1);
-        highlightedIndices = new int[0];
+        finish();
+        if (sink != null) sink.onPhase(Operation.COMPLETE);
+        sink = null;
+    }
+
+    public final void sortParallel(int[] data, ForkJoinPool pool, IntFunction<SortEventSink> workerSinks) {
+        begin(data);
+        ParallelContext context = new ParallelContext(this, parallelThresholdFor(array.length, pool.getParallelism()),
+                workerSinks);
+        parallel = context;
+        sink = workerSinks == null ? null : workerSinks.apply(0);
+        try {
+            timedInitialize();
+            if (sink != null) sink.onPhase(Operation.START);
+            RangeTask root = new RangeTask(context, array, 0, array.length - 1, 0, NO_BUDGET, logicalTime());
+            pool.invoke(root);
+            if (sink != null) sink.advanceTo(root.endTime);
+            finish();
+            if (sink != null) sink.onPhase(Operation.COMPLETE);
+        } finally {
+            parallel = null;
+            sink = null;
+            synchronized (context.workers) {
+                for (SortingAlgorithm worker : context.workers) {
+                    COMPARISONS.setOpaque(this, comparisons + worker.comparisons);
+                    SWAPS.setOpaque(this, swaps + worker.swaps);
+                    WRITES.setOpaque(this, writes + worker.writes);
+                    AUX_BYTES.setOpaque(this, auxBytes + worker.auxBytes);
+                    MAX_DEPTH.setOpaque(this, Math.max(maxDepth, worker.maxDepth));
+                }
+                context.workers.clear();
+            }
+            context.byThread.clear();
+        }
+    }
+
+    public final void sortFast(int[] data) {
+        begin(data);
+        sortStart = System.nanoTime();
+        fastSort(array);
+        finish();
+    }
+
+    private void begin(int[] data) {
+        array = data.clone();
+        sortComplete = false;
+        COMPARISONS.setOpaque(this, 0L);
+        SWAPS.setOpaque(this, 0L);
+        WRITES.setOpaque(this, 0L);
+        AUX_BYTES.setOpaque(this, 0L);
+        depth = 0;
+        MAX_DEPTH.setOpaque(this, 0);
+        initializeNanos = 0;
+        sortStart = 0;
+        sortNanos = 0;
+    }
+
+    private void timedInitialize() {
+        long start = System.nanoTime();
+        initialize();
+        sortStart = System.nanoTime();
+        initializeNanos = sortStart - start;
+    }
+
+    private void finish() {
+        sortNanos = System.nanoTime() - sortStart;
+        highlightedIndices = NO_HIGHLIGHT;
         sortComplete = true;
-        notifyObservers();
     }
 
+    protected void fastSort(int[] array) {
+        initialize();
+        performSort(array, 0, array.length - 1);
+    }
+
+    public static int parallelThresholdFor(int length, int parallelism) {
+        return Math.max(MIN_PARALLEL_RANGE, length / (4 * Math.max(1, parallelism)));
+    }
+
+    public void setEventSink(SortEventSink eventSink) {
+        this.eventSink = eventSink;
+    }
+
+    public SortEventSink getEventSink() { return eventSink; }
+
     protected abstract void performSort(int[] array, int low, int high);
     protected abstract int divide(int[] array, int low, int high);
     protected abstract void merge(int[] array, int low, int mid, int high);
     protected void initialize() {}
 
+    protected void initializeWorker(SortingAlgorithm owner) {
+        initialize();
+    }
+
+    protected void performSort(int[] array, int low, int high, int budget) {
+        performSort(array, low, high);
+    }
+
+    protected SortingAlgorithm newWorker() {
+        try {
+            return getClass().getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Tri parallele non supporte : " + getName(), e);
+        }
+    }
+
+    protected final boolean forks(int length) {
+        ParallelContext context = parallel;
+        return context != null && length >= context.threshold;
+    }
+
+    protected final void sortBoth(int[] array, int lowA, int highA, int lowB, int highB) {
+        sortBoth(array, lowA, highA, lowB, highB, NO_BUDGET);
+    }
+
+    protected final void sortBoth(int[] array, int lowA, int highA, int lowB, int highB, int budget) {
+        ParallelContext context = parallel;
+        if (forks(Math.max(highA, highB) - Math.min(lowA, lowB) + 1)) {
+            long forkTime = logicalTime();
+            RangeTask first = new RangeTask(context, array, lowA, highA, depth + 1, budget, forkTime);
+            RangeTask second = new RangeTask(context, array, lowB, highB, depth + 1, budget, forkTime);
+            RecursiveAction.invokeAll(first, second);
+            if (sink != null) sink.advanceTo(Math.max(first.endTime, second.endTime));
+        } else {
+            enterRecursion();
+            sortRange(array, lowA, highA, budget);
+            sortRange(array, lowB, highB, budget);
+            exitRecursion();
+        }
+    }
+
+    private long logicalTime() {
+        return sink == null ? 0 : sink.logicalTime();
+    }
+
+    private void sortRange(int[] array, int low, int high, int budget) {
+        if (budget == NO_BUDGET) performSort(array, low, high);
+        else performSort(array, low, high, budget);
+    }
+
+    protected final void enterRecursion() {
+        if (++depth > maxDepth) MAX_DEPTH.setOpaque(this, depth);
+    }
+
+    protected final void exitRecursion() {
+        depth--;
+    }
+
+    protected final int[] allocate(int length) {
+        AUX_BYTES.setOpaque(this, auxBytes + (long) Integer.BYTES * length);
+        return new int[length];
+    }
+
+    protected final void countAllocation(long bytes) {
+        AUX_BYTES.setOpaque(this, auxBytes + bytes);
+    }
+
+    protected void compare(int i, int j) {
+        COMPARISONS.setOpaque(this, comparisons + 1);
+        if (sink != null) sink.onCompare(i, j);
+    }
+
+    protected void swap(int[] array, int i, int j) {
+        int temp = array[i];
+        array[i] = array[j];
+        array[j] = temp;
+        SWAPS.setOpaque(this, swaps + 1);
+        if (sink != null) sink.onSwap(i, j);
+    }
+
+    protected void write(int[] array, int index, int value) {
+        array[index] = value;
+        WRITES.setOpaque(this, writes + 1);
+        if (sink != null) sink.onWrite(index, value);
+    }
+
+    protected void histogram(int index, int bucket) {
+        if (sink != null) sink.onHistogram(index, bucket);
+    }
+
+    protected void scatter(int[] target, int index, int value) {
+        target[index] = value;
+        WRITES.setOpaque(this, writes + 1);
+        if (sink != null) sink.onScatter(index, value);
+    }
+
+    protected final boolean isTraced() { return sink != null; }
+
     public SortStep getCurrentStep() {
         return new SortStep(array.clone(), highlightedIndices.clone(), sortComplete);
     }
 
+    public int[] getResult() { return array; }
+    public long getComparisons() { return (long) COMPARISONS.getOpaque(this); }
+    public long getSwaps() { return (long) SWAPS.getOpaque(this); }
+    public long getWrites() { return (long) WRITES.getOpaque(this); }
+    public long getAuxiliaryBytes() { return (long) AUX_BYTES.getOpaque(this); }
+    public int getMaxRecursionDepth() { return (int) MAX_DEPTH.getOpaque(this); }
+
+    public SortMetrics getMetrics() {
+        long c = getComparisons(), s = getSwaps(), w = getWrites(), aux = getAuxiliaryBytes();
+        int deepest = getMaxRecursionDepth();
+        ParallelContext context = parallel;
+        if (context != null) {
+            synchronized (context.workers) {
+                for (SortingAlgorithm worker : context.workers) {
+                    c += worker.getComparisons();
+                    s += worker.getSwaps();
+                    w += worker.getWrites();
+                    aux += worker.getAuxiliaryBytes();
+                    deepest = Math.max(deepest, worker.getMaxRecursionDepth());
+                }
+            }
+        }
+        boolean complete = sortComplete;
+        long elapsed = complete ? sortNanos : sortStart == 0 ? 0 : System.nanoTime() - sortStart;
+        return new SortMetrics(getName(), c, s, w, aux, deepest, initializeNanos, elapsed, complete);
+    }
+
+    public Operation getLastOperation() { return lastOperation; }
+    public int getFirstOperand() { return firstOperand; }
+    public int getSecondOperand() { return secondOperand; }
+
     public abstract String getName();
+
+    private static final class ParallelContext {
+
+        final SortingAlgorithm owner;
+        final int threshold;
+        final IntFunction<SortEventSink> workerSinks;
+        final List<SortingAlgorithm> workers = new ArrayList<>();
+        final Map<Thread, SortingAlgorithm> byThread = new ConcurrentHashMap<>();
+
+        ParallelContext(SortingAlgorithm owner, int threshold, IntFunction<SortEventSink> workerSinks) {
+            this.owner = owner;
+            this.threshold = threshold;
+            this.workerSinks = workerSinks;
+        }
+
+        SortingAlgorithm local() {
+            return byThread.computeIfAbsent(Thread.currentThread(), thread -> register());
+        }
+
+        private SortingAlgorithm register() {
+            synchronized (workers) {
+                SortingAlgorithm worker = owner.newWorker();
+                worker.array = owner.array;
+                worker.parallel = this;
+                worker.sink = workerSinks == null ? null : workerSinks.apply(workers.size() + 1);
+                worker.initializeWorker(owner);
+                workers.add(worker);
+                return worker;
+            }
+        }
+    }
+
+    private static final class RangeTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient ParallelContext context;
+        private final int[] array;
+        private final int low;
+        private final int high;
+        private final int depth;
+        private final int budget;
+        private final long forkTime;
+        private long endTime;
+
+        RangeTask(ParallelContext context, int[] array, int low, int high, int depth, int budget, long forkTime) {
+            this.context = context;
+            this.array = array;
+            this.low = low;
+            this.high = high;
+            this.depth = depth;
+            this.budget = budget;
+            this.forkTime = forkTime;
+        }
+
+        @Override
+        protected void compute() {
+            SortingAlgorithm worker = context.local();
+            int saved = worker.depth;
+            worker.depth = depth;
+            if (depth > worker.maxDepth) MAX_DEPTH.setOpaque(worker, depth);
+            if (worker.sink != null) worker.sink.advanceTo(forkTime);
+            worker.sortRange(array, low, high, budget);
+            endTime = worker.logicalTime();
+            worker.depth = saved;
+        }
+    }
+
+    private final class ObserverBridge implements SortEventSink {
+
+        private final int[] pair = new int[2];
+        private final int[] single = new int[1];
+
+        @Override
+        public void onCompare(int i, int j) {
+            highlightPair(i, j);
+            publish(Operation.COMPARE, i, j);
+        }
+
+        @Override
+        public void onSwap(int i, int j) {
+            highlightPair(i, j);
+            publish(Operation.SWAP, i, j);
+        }
+
+        @Override
+        public void onWrite(int index, int value) {
+            single[0] = index;
+            highlightedIndices = single;
+            publish(Operation.WRITE, index, value);
+        }
+
+        @Override
+        public void onHistogram(int index, int bucket) {
+            single[0] = index;
+            highlightedIndices = single;
+            publish(Operation.HISTOGRAM, index, bucket);
+        }
+
+        @Override
+        public void onScatter(int index, int value) {
+            single[0] = index;
+            highlightedIndices = single;
+            publish(Operation.SCATTER, index, value);
+        }
+
+        @Override
+        public void onPhase(Operation phase) {
+            highlightedIndices = NO_HIGHLIGHT;
+            publish(phase, -1, -1);
+        }
+
+        private void highlightPair(int i, int j) {
+            pair[0] = i;
+            pair[1] = j;
+            highlightedIndices = pair;
+        }
+
+        private void publish(Operation operation, int first, int second) {
+            lastOperation = operation;
+            firstOperand = first;
+            secondOperand = second;
+            notifyObservers();
+        }
+    }
 }
@@ -0,0 +1,125 @@
+package sort;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShuffle;
+import jdk.incubator.vector.VectorSpecies;
+
+class VectorKernels extends FastKernels {
+
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+    private static final int LANES = SPECIES.length();
+
+    private final VectorShuffle<Integer> reverse = VectorShuffle.fromOp(SPECIES, i -> LANES - 1 - i);
+    private final VectorShuffle<Integer>[] exchange;
+    private final VectorMask<Integer>[] upper;
+
+    @SuppressWarnings("unchecked")
+    VectorKernels() {
+        int stages = Integer.numberOfTrailingZeros(LANES);
+        exchange = (VectorShuffle<Integer>[]) new VectorShuffle<?>[stages];
+        upper = (VectorMask<Integer>[]) new VectorMask<?>[stages];
+        for (int s = 0; s < stages; s++) {
+            int distance = LANES >> (s + 1);
+            exchange[s] = VectorShuffle.fromOp(SPECIES, i -> i ^ distance);
+            upper[s] = VectorMask.fromLong(SPECIES, upperLanes(distance));
+        }
+    }
+
+    @Override
+    public String getName() { return "vector" + LANES; }
+
+    @Override
+    protected int slack() { return LANES; }
+
+    @Override
+    protected int partition(int[] array, int from, int to, int pivot, boolean inclusive, int[] less, int[] greater) {
+        if (inclusive && pivot == Integer.MAX_VALUE) return to;
+        int limit = inclusive ? pivot + 1 : pivot;
+        IntVector limits = IntVector.broadcast(SPECIES, limit);
+        int l = 0, g = 0;
+        int i = from;
+        for (int bound = from + SPECIES.loopBound(to - from); i < bound; i += LANES) {
+            IntVector values = IntVector.fromArray(SPECIES, array, i);
+            VectorMask<Integer> below = values.compare(VectorOperators.LT, limits);
+            values.compress(below).intoArray(less, l);
+            values.compress(below.not()).intoArray(greater, g);
+            int count = below.trueCount();
+            l += count;
+            g += LANES - count;
+        }
+        for (; i < to; i++) {
+            int value = array[i];
+            if (value < limit) less[l++] = value;
+            else greater[g++] = value;
+        }
+        System.arraycopy(less, 0, array, from, l);
+        System.arraycopy(greater, 0, array, from + l, g);
+        return from + l;
+    }
+
+    @Override
+    protected void merge(int[] source, int[] target, int low, int mid, int high, int[] scratch) {
+        if (mid - low < LANES || high - mid < LANES) {
+            scalarMerge(source, target, low, mid, high);
+            return;
+        }
+        int i = low + LANES, j = mid + LANES, k = low;
+        IntVector a = IntVector.fromArray(SPECIES, source, low);
+        IntVector b = IntVector.fromArray(SPECIES, source, mid);
+        while (true) {
+            IntVector reversed = b.rearrange(reverse);
+            sortBitonic(a.min(reversed)).intoArray(target, k);
+            k += LANES;
+            IntVector carry = sortBitonic(a.max(reversed));
+            boolean takeLeft = i < mid && (j >= high || source[i] <= source[j]);
+            if (takeLeft ? i + LANES > mid : j + LANES > high) {
+                carry.intoArray(scratch, 0);
+                break;
+            }
+            if (takeLeft) {
+                a = IntVector.fromArray(SPECIES, source, i);
+                i += LANES;
+            } else {
+                a = IntVector.fromArray(SPECIES, source, j);
+                j += LANES;
+            }
+            b = carry;
+        }
+        int c = 0;
+        while (k < high) {
+            int pick = -1, best = 0;
+            if (c < LANES) {
+                best = scratch[c];
+                pick = 0;
+            }
+            if (i < mid && (pick < 0 || source[i] < best)) {
+                best = source[i];
+                pick = 1;
+            }
+            if (j < high && (pick < 0 || source[j] < best)) {
+                best = source[j];
+                pick = 2;
+            }
+            target[k++] = best;
+            if (pick == 0) c++;
+            else if (pick == 1) i++;
+            else j++;
+        }
+    }
+
+    private IntVector sortBitonic(IntVector values) {
+        for (int s = 0; s < exchange.length; s++) {
+            IntVector partner = values.rearrange(exchange[s]);
+            values = values.min(partner).blend(values.max(partner), upper[s]);
+        }
+        return values;
+    }
+
+    private static long upperLanes(int distance) {
+        long bits = 0;
+        for (int lane = 0; lane < LANES; lane++) if ((lane & distance) != 0) bits |= 1L << lane;
+        return bits;
+    }
+}
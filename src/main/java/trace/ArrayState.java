@@ -0,0 +1,159 @@
+package trace;
+
+import sort.Operation;
+import sort.SortStep;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+public class ArrayState {
+
+    private static final int TRAIL_CAPACITY = 32;
+
+    private final int[] values;
+    private final int[] highlights = new int[2];
+    private int highlightCount = 0;
+    private boolean sortComplete = false;
+    private byte[] owners;
+
+    private boolean trackingChanges = false;
+    private int[] changed;
+    private BitSet changedSet;
+    private int changedCount = 0;
+    private boolean fullyChanged = true;
+    private int[] trail;
+    private int trailCount = 0;
+
+    public ArrayState(int[] values) {
+        this.values = values;
+    }
+
+    public void setChangeTracking(boolean enabled) {
+        trackingChanges = enabled;
+        if (enabled && changed == null) {
+            changed = new int[Math.max(16, values.length / 8)];
+            changedSet = new BitSet(values.length);
+            trail = new int[TRAIL_CAPACITY];
+        }
+        trailCount = 0;
+        fullyChanged = true;
+    }
+
+    public void setOwnerTracking(boolean enabled) {
+        owners = enabled ? new byte[values.length] : null;
+    }
+
+    public void apply(Operation operation, int first, int second, int worker) {
+        apply(operation, first, second);
+        if (owners == null) return;
+        if (operation == Operation.SWAP) {
+            owners[first] = (byte) worker;
+            owners[second] = (byte) worker;
+        } else if (operation == Operation.WRITE || operation == Operation.SCATTER) {
+            owners[first] = (byte) worker;
+        }
+    }
+
+    public void apply(Operation operation, int first, int second) {
+        switch (operation) {
+            case START -> {
+                highlightCount = 0;
+                trailCount = 0;
+                sortComplete = false;
+            }
+            case COMPARE -> highlight(first, second);
+            case SWAP -> {
+                int temp = values[first];
+                values[first] = values[second];
+                values[second] = temp;
+                highlight(first, second);
+                markChanged(first);
+                markChanged(second);
+            }
+            case WRITE, SCATTER -> {
+                values[first] = second;
+                highlight(first);
+                markChanged(first);
+            }
+            case HISTOGRAM -> highlight(first);
+            case COMPLETE -> {
+                highlightCount = 0;
+                trailCount = 0;
+                sortComplete = true;
+            }
+        }
+    }
+
+    public int getHighlightCount() { return highlightCount; }
+    public int getHighlight(int i) { return highlights[i]; }
+    public int getValue(int index) { return values[index]; }
+    public int length() { return values.length; }
+    public boolean isSortComplete() { return sortComplete; }
+
+    public int getOwner(int index) { return owners == null ? 0 : owners[index] & 0xFF; }
+
+    public int[] copyValues() { return values.clone(); }
+    byte[] copyOwners() { return owners.clone(); }
+
+    void restore(Trace trace, int keyframe) {
+        trace.readKeyframe(keyframe, values);
+        if (owners != null) trace.readOwners(keyframe, owners);
+        highlightCount = 0;
+        trailCount = 0;
+        sortComplete = false;
+        fullyChanged = true;
+    }
+
+    public SortStep view() {
+        int[] changedIndices = !trackingChanges || fullyChanged ? null : Arrays.copyOf(changed, changedCount);
+        return new SortStep(values, coalescedHighlights(), sortComplete, changedIndices, owners);
+    }
+
+    private int[] coalescedHighlights() {
+        int stored = Math.min(trailCount, TRAIL_CAPACITY);
+        if (stored <= highlightCount) return Arrays.copyOf(highlights, highlightCount);
+        int[] result = Arrays.copyOf(highlights, stored);
+        for (int i = highlightCount; i < stored; i++) result[i] = trail[(trailCount - 1 - i) & (TRAIL_CAPACITY - 1)];
+        return result;
+    }
+
+    void collapseTrail() {
+        trailCount = 0;
+    }
+
+    public void clearChanges() {
+        for (int i = 0; i < changedCount; i++) changedSet.clear(changed[i]);
+        changedCount = 0;
+        fullyChanged = false;
+        trailCount = 0;
+    }
+
+    private void markChanged(int index) {
+        if (!trackingChanges || fullyChanged || changedSet.get(index)) return;
+        if (changedCount == changed.length) {
+            fullyChanged = true;
+            return;
+        }
+        changedSet.set(index);
+        changed[changedCount++] = index;
+    }
+
+    private void highlight(int index) {
+        highlights[0] = index;
+        highlightCount = 1;
+        remember(index);
+    }
+
+    private void highlight(int first, int second) {
+        highlights[0] = first;
+        highlights[1] = second;
+        highlightCount = 2;
+        remember(second);
+        remember(first);
+    }
+
+    private void remember(int index) {
+        if (trail == null) return;
+        trail[trailCount++ & (TRAIL_CAPACITY - 1)] = index;
+    }
+}
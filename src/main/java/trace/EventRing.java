@@ -0,0 +1,161 @@
+package trace;
+
+import sort.Operation;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class EventRing {
+
+    private static final Operation[] OPERATIONS = Operation.values();
+
+    private final byte[] operations;
+    private final int[] firstOperands;
+    private final int[] secondOperands;
+    private final int mask;
+    private final WaitStrategy producerWait;
+    private final AtomicLong cursor = new AtomicLong();
+    private volatile Consumer[] consumers = new Consumer[0];
+    private volatile boolean closed = false;
+    private long next = 0;
+    private long gatingCache = 0;
+    private long producerStalls = 0;
+
+    public EventRing(int capacity, WaitStrategy producerWait) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacite non puissance de 2 : " + capacity);
+        }
+        operations = new byte[capacity];
+        firstOperands = new int[capacity];
+        secondOperands = new int[capacity];
+        mask = capacity - 1;
+        this.producerWait = producerWait;
+    }
+
+    public boolean publish(Operation operation, int first, int second) throws InterruptedException {
+        long sequence = next;
+        long wrapPoint = sequence - operations.length;
+        if (wrapPoint >= gatingCache) {
+            while (wrapPoint >= (gatingCache = minimumSequence(sequence))) {
+                if (closed) return false;
+                if (Thread.interrupted()) throw new InterruptedException();
+                producerStalls++;
+                producerWait.idle();
+            }
+        }
+        if (closed) return false;
+        int slot = (int) sequence & mask;
+        operations[slot] = (byte) operation.ordinal();
+        firstOperands[slot] = first;
+        secondOperands[slot] = second;
+        next = sequence + 1;
+        cursor.lazySet(sequence + 1);
+        return true;
+    }
+
+    private long minimumSequence(long fallback) {
+        long minimum = fallback;
+        for (Consumer consumer : consumers) minimum = Math.min(minimum, consumer.sequence.get());
+        return minimum;
+    }
+
+    public synchronized Consumer subscribe(String name, WaitStrategy waitStrategy) {
+        Consumer consumer = new Consumer(name, waitStrategy, cursor.get());
+        Consumer[] current = consumers;
+        Consumer[] grown = Arrays.copyOf(current, current.length + 1);
+        grown[current.length] = consumer;
+        consumers = grown;
+        return consumer;
+    }
+
+    private synchronized void unsubscribe(Consumer consumer) {
+        consumers = Arrays.stream(consumers).filter(c -> c != consumer).toArray(Consumer[]::new);
+    }
+
+    public void close() {
+        closed = true;
+    }
+
+    public boolean isClosed() { return closed; }
+    public int capacity() { return operations.length; }
+    public long getPublished() { return cursor.get(); }
+    public long getProducerStalls() { return producerStalls; }
+
+    public Map<String, Long> getConsumerLags() {
+        Map<String, Long> lags = new LinkedHashMap<>();
+        for (Consumer consumer : consumers) lags.put(consumer.name, consumer.getLag());
+        return lags;
+    }
+
+    public Map<String, Long> getConsumerMaxLags() {
+        Map<String, Long> lags = new LinkedHashMap<>();
+        for (Consumer consumer : consumers) lags.put(consumer.name, consumer.getMaxLag());
+        return lags;
+    }
+
+    public final class Consumer {
+
+        private final String name;
+        private final WaitStrategy waitStrategy;
+        private final AtomicLong sequence;
+        private long available;
+        private volatile long maxLag = 0;
+
+        private Consumer(String name, WaitStrategy waitStrategy, long start) {
+            this.name = name;
+            this.waitStrategy = waitStrategy;
+            this.sequence = new AtomicLong(start);
+            this.available = start;
+        }
+
+        public boolean poll(ArrayState state) {
+            long position = sequence.get();
+            if (position == available && !refresh(position)) return false;
+            int slot = (int) position & mask;
+            state.apply(OPERATIONS[operations[slot]], firstOperands[slot], secondOperands[slot]);
+            sequence.lazySet(position + 1);
+            return true;
+        }
+
+        public int drainTo(TraceRecorder recorder, int max) {
+            long position = sequence.get();
+            if (position == available && !refresh(position)) return 0;
+            int count = (int) Math.min(max, available - position);
+            for (int i = 0; i < count; i++) {
+                int slot = (int) (position + i) & mask;
+                recorder.append(OPERATIONS[operations[slot]], firstOperands[slot], secondOperands[slot]);
+            }
+            sequence.lazySet(position + count);
+            return count;
+        }
+
+        public boolean await() throws InterruptedException {
+            long position = sequence.get();
+            while (position == available && !refresh(position)) {
+                if (closed) return refresh(position);
+                if (Thread.interrupted()) throw new InterruptedException();
+                waitStrategy.idle();
+            }
+            return true;
+        }
+
+        private boolean refresh(long position) {
+            available = cursor.get();
+            if (available - position > maxLag) maxLag = available - position;
+            return available != position;
+        }
+
+        public boolean isDrained() {
+            return closed && sequence.get() == cursor.get();
+        }
+
+        public long getLag() { return cursor.get() - sequence.get(); }
+        public long getMaxLag() { return maxLag; }
+
+        public void close() {
+            unsubscribe(this);
+        }
+    }
+}
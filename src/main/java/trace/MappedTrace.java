@@ -0,0 +1,142 @@
+package trace;
+
+import sort.Operation;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+public class MappedTrace implements Trace, AutoCloseable {
+
+    private static final Operation[] OPERATIONS = Operation.values();
+
+    private final Path path;
+    private final FileChannel channel;
+    private final int arrayLength;
+    private final int keyframeInterval;
+    private final int size;
+    private final String label;
+    private final long blockSize;
+    private final int blocksPerSegment;
+    private final MappedByteBuffer[] segments;
+
+    private MappedTrace(Path path) throws IOException {
+        this.path = path;
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(TraceFile.HEADER_SIZE).order(TraceFile.ORDER);
+            while (header.hasRemaining() && channel.read(header) >= 0) {}
+            if (header.position() < TraceFile.HEADER_SIZE || header.getInt(0) != TraceFile.MAGIC) {
+                throw new IOException("Fichier de trace invalide : " + path);
+            }
+            if (header.getInt(4) != TraceFile.VERSION) {
+                throw new IOException("Version de trace non supportee : " + header.getInt(4));
+            }
+            arrayLength = header.getInt(8);
+            keyframeInterval = header.getInt(12);
+            if (arrayLength < 0) throw new IOException("Taille de tableau invalide : " + arrayLength);
+            if (keyframeInterval < 1) throw new IOException("Intervalle d'images cles invalide : " + keyframeInterval);
+            long operationCount = header.getLong(TraceFile.OPERATION_COUNT_OFFSET);
+            if (operationCount < 0 || operationCount > Integer.MAX_VALUE) {
+                throw new IOException("Nombre d'operations invalide : " + operationCount);
+            }
+            size = (int) operationCount;
+            int labelLength = header.getInt(24);
+            if (labelLength < 0 || labelLength > TraceFile.MAX_LABEL_BYTES) {
+                throw new IOException("Longueur d'etiquette invalide : " + labelLength);
+            }
+            byte[] labelBytes = new byte[labelLength];
+            header.get(28, labelBytes);
+            label = new String(labelBytes, StandardCharsets.UTF_8);
+
+            blockSize = TraceFile.blockSize(arrayLength, keyframeInterval);
+            if (blockSize > Integer.MAX_VALUE) throw new IOException("Bloc de trace trop grand : " + blockSize);
+            blocksPerSegment = (int) (Integer.MAX_VALUE / blockSize);
+            long blocks = Math.max(1, ((long) size + keyframeInterval - 1) / keyframeInterval);
+            long expected = TraceFile.HEADER_SIZE + (blocks - 1) * blockSize + 4L * arrayLength
+                    + (size - (blocks - 1) * keyframeInterval) * TraceFile.OPERATION_SIZE;
+            if (channel.size() < expected) {
+                throw new IOException("Trace tronquee : " + channel.size() + " octets pour " + size + " operations");
+            }
+            segments = mapSegments();
+            for (int i = 0; i < size; i++) {
+                int code = segmentOf(i).get(operationOffset(i));
+                if (code < 0 || code >= OPERATIONS.length) throw new IOException("Operation invalide a l'index " + i);
+            }
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public static MappedTrace open(Path path) throws IOException {
+        return new MappedTrace(path);
+    }
+
+    private MappedByteBuffer[] mapSegments() throws IOException {
+        long available = channel.size() - TraceFile.HEADER_SIZE;
+        long blocks = Math.max(1, (available + blockSize - 1) / blockSize);
+        int count = (int) ((blocks + blocksPerSegment - 1) / blocksPerSegment);
+        MappedByteBuffer[] mapped = new MappedByteBuffer[count];
+        for (int i = 0; i < count; i++) {
+            long start = TraceFile.HEADER_SIZE + (long) i * blocksPerSegment * blockSize;
+            long length = Math.min((long) blocksPerSegment * blockSize, available - (start - TraceFile.HEADER_SIZE));
+            mapped[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.max(length, 0));
+            mapped[i].order(TraceFile.ORDER);
+        }
+        return mapped;
+    }
+
+    @Override
+    public int size() { return size; }
+    @Override
+    public int getArrayLength() { return arrayLength; }
+    @Override
+    public int getKeyframeInterval() { return keyframeInterval; }
+    @Override
+    public int getKeyframeCount() { return size == 0 ? 1 : (size + keyframeInterval - 1) / keyframeInterval; }
+
+    public String getLabel() { return label; }
+    public Path getPath() { return path; }
+
+    @Override
+    public Operation getOperation(int index) {
+        return OPERATIONS[segmentOf(index).get(operationOffset(index))];
+    }
+
+    @Override
+    public int getFirstOperand(int index) {
+        return segmentOf(index).getInt(operationOffset(index) + 1);
+    }
+
+    @Override
+    public int getSecondOperand(int index) {
+        return segmentOf(index).getInt(operationOffset(index) + 5);
+    }
+
+    @Override
+    public void readKeyframe(int keyframe, int[] destination) {
+        MappedByteBuffer segment = segments[keyframe / blocksPerSegment];
+        int offset = (int) ((keyframe % blocksPerSegment) * blockSize);
+        segment.slice(offset, 4 * arrayLength).order(TraceFile.ORDER).asIntBuffer().get(destination, 0, arrayLength);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private MappedByteBuffer segmentOf(int index) {
+        return segments[index / keyframeInterval / blocksPerSegment];
+    }
+
+    private int operationOffset(int index) {
+        int block = index / keyframeInterval;
+        return (int) ((block % blocksPerSegment) * blockSize + 4L * arrayLength
+                + (long) (index % keyframeInterval) * TraceFile.OPERATION_SIZE);
+    }
+}
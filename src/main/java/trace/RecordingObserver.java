@@ -0,0 +1,21 @@
+package trace;
+
+import interfaces.Observable;
+import interfaces.Observer;
+import sort.SortingAlgorithm;
+
+public class RecordingObserver extends Observer {
+
+    private final TraceRecorder recorder;
+
+    public RecordingObserver(TraceRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    @Override
+    public void update(Observable o) {
+        if (o instanceof SortingAlgorithm algorithm) {
+            recorder.append(algorithm.getLastOperation(), algorithm.getFirstOperand(), algorithm.getSecondOperand());
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package trace;
+
+import sort.Operation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class SortTrace implements Trace, TraceRecorder {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final Operation[] OPERATIONS = Operation.values();
+
+    private final int[] initialState;
+    private final int keyframeInterval;
+    private final List<int[]> keyframes = new ArrayList<>();
+    private final List<byte[]> ownerKeyframes;
+    private final ArrayState head;
+    private byte[] operations = new byte[INITIAL_CAPACITY];
+    private byte[] workers;
+    private int[] firstOperands = new int[INITIAL_CAPACITY];
+    private int[] secondOperands = new int[INITIAL_CAPACITY];
+    private int size = 0;
+
+    public SortTrace(int[] initialState) {
+        this(initialState, false);
+    }
+
+    public SortTrace(int[] initialState, boolean withWorkers) {
+        this.initialState = initialState.clone();
+        this.keyframeInterval = Trace.keyframeIntervalFor(initialState.length);
+        this.head = new ArrayState(initialState.clone());
+        keyframes.add(this.initialState);
+        if (withWorkers) {
+            workers = new byte[INITIAL_CAPACITY];
+            ownerKeyframes = new ArrayList<>();
+            head.setOwnerTracking(true);
+            ownerKeyframes.add(head.copyOwners());
+        } else {
+            ownerKeyframes = null;
+        }
+    }
+
+    @Override
+    public void append(Operation operation, int first, int second) {
+        append(operation, first, second, 0);
+    }
+
+    @Override
+    public void append(Operation operation, int first, int second, int worker) {
+        if (size == operations.length) grow();
+        operations[size] = (byte) operation.ordinal();
+        firstOperands[size] = first;
+        secondOperands[size] = second;
+        if (workers != null) workers[size] = (byte) worker;
+        size++;
+        head.apply(operation, first, second, worker);
+        if (size % keyframeInterval == 0) {
+            keyframes.add(head.copyValues());
+            if (ownerKeyframes != null) ownerKeyframes.add(head.copyOwners());
+        }
+    }
+
+    @Override
+    public int size() { return size; }
+    @Override
+    public int getArrayLength() { return initialState.length; }
+    @Override
+    public Operation getOperation(int index) { return OPERATIONS[operations[index]]; }
+    @Override
+    public int getFirstOperand(int index) { return firstOperands[index]; }
+    @Override
+    public int getSecondOperand(int index) { return secondOperands[index]; }
+    @Override
+    public int getKeyframeInterval() { return keyframeInterval; }
+    @Override
+    public int getKeyframeCount() { return keyframes.size(); }
+
+    @Override
+    public boolean hasWorkers() { return workers != null; }
+    @Override
+    public int getWorker(int index) { return workers == null ? 0 : workers[index] & 0xFF; }
+
+    @Override
+    public void readKeyframe(int keyframe, int[] destination) {
+        System.arraycopy(keyframes.get(keyframe), 0, destination, 0, initialState.length);
+    }
+
+    @Override
+    public void readOwners(int keyframe, byte[] destination) {
+        if (ownerKeyframes != null) System.arraycopy(ownerKeyframes.get(keyframe), 0, destination, 0, initialState.length);
+    }
+
+    public long byteSize() {
+        long bytes = 4L * initialState.length * (keyframes.size() + 1) + 9L * size;
+        if (workers != null) bytes += (long) initialState.length * ownerKeyframes.size() + size;
+        return bytes;
+    }
+
+    public void trimToSize() {
+        if (operations.length == size) return;
+        operations = Arrays.copyOf(operations, size);
+        firstOperands = Arrays.copyOf(firstOperands, size);
+        secondOperands = Arrays.copyOf(secondOperands, size);
+        if (workers != null) workers = Arrays.copyOf(workers, size);
+    }
+
+    private void grow() {
+        int capacity = Math.max(INITIAL_CAPACITY, operations.length + (operations.length >> 1));
+        operations = Arrays.copyOf(operations, capacity);
+        firstOperands = Arrays.copyOf(firstOperands, capacity);
+        secondOperands = Arrays.copyOf(secondOperands, capacity);
+        if (workers != null) workers = Arrays.copyOf(workers, capacity);
+    }
+}
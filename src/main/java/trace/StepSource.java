@@ -0,0 +1,7 @@
+package trace;
+
+public interface StepSource {
+    boolean advance();
+    boolean isExhausted();
+    ArrayState getState();
+}
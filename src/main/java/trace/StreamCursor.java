@@ -0,0 +1,25 @@
+package trace;
+
+public class StreamCursor implements StepSource {
+
+    private final EventRing.Consumer consumer;
+    private final ArrayState state;
+
+    public StreamCursor(EventRing.Consumer consumer, int[] initialState) {
+        this.consumer = consumer;
+        this.state = new ArrayState(initialState.clone());
+    }
+
+    @Override
+    public boolean advance() {
+        return consumer.poll(state);
+    }
+
+    @Override
+    public boolean isExhausted() {
+        return consumer.isDrained();
+    }
+
+    @Override
+    public ArrayState getState() { return state; }
+}
@@ -0,0 +1,39 @@
+package trace;
+
+import sort.Operation;
+
+public interface Trace {
+
+    int MIN_KEYFRAME_INTERVAL = 256;
+
+    int size();
+    int getArrayLength();
+    Operation getOperation(int index);
+    int getFirstOperand(int index);
+    int getSecondOperand(int index);
+    int getKeyframeInterval();
+    int getKeyframeCount();
+    void readKeyframe(int keyframe, int[] destination);
+
+    default boolean hasWorkers() { return false; }
+    default int getWorker(int index) { return 0; }
+    default void readOwners(int keyframe, byte[] destination) {}
+
+    default int[] copyInitialState() {
+        int[] state = new int[getArrayLength()];
+        readKeyframe(0, state);
+        return state;
+    }
+
+    default TraceCursor cursor() { return new TraceCursor(this); }
+
+    static int keyframeIntervalFor(int arrayLength) {
+        return Math.max(MIN_KEYFRAME_INTERVAL, arrayLength);
+    }
+
+    static long estimatedBytes(int arrayLength) {
+        long operations = 2L * arrayLength * (64 - Long.numberOfLeadingZeros(arrayLength));
+        long keyframes = operations / keyframeIntervalFor(arrayLength) + 2;
+        return 9L * operations * 3 / 2 + 4L * arrayLength * keyframes;
+    }
+}
@@ -0,0 +1,160 @@
+package trace;
+
+import sort.SortMetrics;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class TraceCache {
+
+    public record Key(String algorithm, String mode, long fingerprint, int length) {
+
+        public static Key of(String algorithm, String mode, int[] input) {
+            return new Key(algorithm, mode, TraceCache.fingerprint(input), input.length);
+        }
+    }
+
+    public record Hit(Trace trace, SortMetrics metrics) {}
+
+    private final long memoryBudget;
+    private final long diskBudget;
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long memoryBytes = 0;
+    private long diskBytes = 0;
+    private long hits = 0;
+    private long misses = 0;
+
+    public TraceCache(long memoryBudget, long diskBudget) {
+        this.memoryBudget = memoryBudget;
+        this.diskBudget = diskBudget;
+    }
+
+    public synchronized Hit get(Key key, int[] input) {
+        Entry entry = entries.get(key);
+        if (entry == null || !Arrays.equals(entry.trace.copyInitialState(), input)) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return new Hit(entry.trace, entry.metrics);
+    }
+
+    public synchronized void put(Key key, SortTrace trace, SortMetrics metrics) {
+        trace.trimToSize();
+        long bytes = trace.byteSize();
+        if (bytes > memoryBudget && !canSpill(trace, bytes)) return;
+        remove(key);
+        entries.put(key, new Entry(trace, metrics, bytes, null));
+        memoryBytes += bytes;
+        trimMemory();
+        trimDisk();
+    }
+
+    public synchronized boolean put(Key key, MappedTrace trace, SortMetrics metrics) throws IOException {
+        long bytes = Files.size(trace.getPath());
+        if (bytes > diskBudget) return false;
+        remove(key);
+        entries.put(key, new Entry(trace, metrics, bytes, trace.getPath()));
+        diskBytes += bytes;
+        trimDisk();
+        return true;
+    }
+
+    public synchronized void clear() {
+        for (Entry entry : entries.values()) release(entry);
+        entries.clear();
+        memoryBytes = 0;
+        diskBytes = 0;
+    }
+
+    public synchronized long getMemoryBytes() { return memoryBytes; }
+    public synchronized long getDiskBytes() { return diskBytes; }
+    public synchronized long getHits() { return hits; }
+    public synchronized long getMisses() { return misses; }
+    public synchronized int size() { return entries.size(); }
+
+    private void remove(Key key) {
+        Entry previous = entries.remove(key);
+        if (previous == null) return;
+        if (previous.file == null) memoryBytes -= previous.bytes;
+        else diskBytes -= previous.bytes;
+        release(previous);
+    }
+
+    private boolean canSpill(Trace trace, long bytes) {
+        return diskBudget > 0 && !trace.hasWorkers() && bytes <= diskBudget;
+    }
+
+    private void trimMemory() {
+        Iterator<Map.Entry<Key, Entry>> iterator = entries.entrySet().iterator();
+        while (memoryBytes > memoryBudget && iterator.hasNext()) {
+            Map.Entry<Key, Entry> candidate = iterator.next();
+            Entry entry = candidate.getValue();
+            if (entry.file != null) continue;
+            memoryBytes -= entry.bytes;
+            Entry spilled = canSpill(entry.trace, entry.bytes) ? spill(candidate.getKey(), entry) : null;
+            if (spilled == null) {
+                iterator.remove();
+            } else {
+                candidate.setValue(spilled);
+                diskBytes += spilled.bytes;
+            }
+        }
+    }
+
+    private void trimDisk() {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (diskBytes > diskBudget && iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.file == null) continue;
+            diskBytes -= entry.bytes;
+            iterator.remove();
+            release(entry);
+        }
+    }
+
+    private Entry spill(Key key, Entry entry) {
+        Path file = null;
+        try {
+            file = Files.createTempFile("sort-cache", ".strc");
+            file.toFile().deleteOnExit();
+            TraceFileWriter.write(entry.trace, file, key.algorithm());
+            return new Entry(MappedTrace.open(file), entry.metrics, Files.size(file), file);
+        } catch (IOException e) {
+            deleteQuietly(file);
+            return null;
+        }
+    }
+
+    private static void release(Entry entry) {
+        if (entry.file == null) return;
+        try {
+            ((MappedTrace) entry.trace).close();
+        } catch (IOException ignored) {
+        }
+        deleteQuietly(entry.file);
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) return;
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ignored) {
+        }
+    }
+
+    static long fingerprint(int[] input) {
+        long hash = 0x9E3779B97F4A7C15L ^ input.length;
+        for (int value : input) hash = (hash ^ value) * 0xBF58476D1CE4E5B9L;
+        hash ^= hash >>> 31;
+        hash *= 0x94D049BB133111EBL;
+        return hash ^ (hash >>> 29);
+    }
+
+    private record Entry(Trace trace, SortMetrics metrics, long bytes, Path file) {}
+}
@@ -0,0 +1,53 @@
+package trace;
+
+public class TraceCursor implements StepSource {
+
+    private final Trace trace;
+    private final ArrayState state;
+    private int position = 0;
+
+    TraceCursor(Trace trace) {
+        this.trace = trace;
+        this.state = new ArrayState(trace.copyInitialState());
+        state.setOwnerTracking(trace.hasWorkers());
+    }
+
+    public boolean hasNext() { return position < trace.size(); }
+
+    public void next() {
+        state.apply(trace.getOperation(position), trace.getFirstOperand(position), trace.getSecondOperand(position),
+                trace.getWorker(position));
+        position++;
+    }
+
+    @Override
+    public boolean advance() {
+        if (!hasNext()) return false;
+        next();
+        return true;
+    }
+
+    public void seek(int target) {
+        if (target < 0 || target > trace.size()) {
+            throw new IllegalArgumentException("Position hors de la trace : " + target);
+        }
+        int interval = trace.getKeyframeInterval();
+        boolean backwards = target < position;
+        if (backwards || target - position > interval) {
+            int keyframe = target == 0 ? 0 : (target - 1) / interval;
+            state.restore(trace, keyframe);
+            position = keyframe * interval;
+        }
+        while (position < target) next();
+        if (backwards) state.collapseTrail();
+    }
+
+    @Override
+    public boolean isExhausted() { return !hasNext(); }
+
+    public int getPosition() { return position; }
+    public int size() { return trace.size(); }
+
+    @Override
+    public ArrayState getState() { return state; }
+}
@@ -0,0 +1,20 @@
+package trace;
+
+import java.nio.ByteOrder;
+
+final class TraceFile {
+
+    static final int MAGIC = 0x43525453;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 64;
+    static final int MAX_LABEL_BYTES = HEADER_SIZE - 28;
+    static final int OPERATION_SIZE = 9;
+    static final int OPERATION_COUNT_OFFSET = 16;
+    static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    private TraceFile() {}
+
+    static long blockSize(int arrayLength, int keyframeInterval) {
+        return 4L * arrayLength + (long) OPERATION_SIZE * keyframeInterval;
+    }
+}
@@ -0,0 +1,105 @@
+package trace;
+
+import interfaces.Observable;
+import interfaces.Observer;
+import sort.Operation;
+import sort.SortingAlgorithm;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+public class TraceFileWriter extends Observer implements TraceRecorder, AutoCloseable {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(TraceFile.ORDER);
+    private final ArrayState head;
+    private final int keyframeInterval;
+    private long operationCount = 0;
+
+    public TraceFileWriter(Path path, int[] initialState, String label) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        this.head = new ArrayState(initialState.clone());
+        this.keyframeInterval = Trace.keyframeIntervalFor(initialState.length);
+        writeHeader(initialState.length, label);
+        writeKeyframe();
+    }
+
+    public static void write(Trace trace, Path path, String label) throws IOException {
+        try (TraceFileWriter writer = new TraceFileWriter(path, trace.copyInitialState(), label)) {
+            for (int i = 0; i < trace.size(); i++) {
+                writer.append(trace.getOperation(i), trace.getFirstOperand(i), trace.getSecondOperand(i));
+            }
+        }
+    }
+
+    @Override
+    public void update(Observable o) {
+        if (o instanceof SortingAlgorithm algorithm) {
+            append(algorithm.getLastOperation(), algorithm.getFirstOperand(), algorithm.getSecondOperand());
+        }
+    }
+
+    @Override
+    public void append(Operation operation, int first, int second) {
+        try {
+            if (operationCount > 0 && operationCount % keyframeInterval == 0) writeKeyframe();
+            ensureRemaining(TraceFile.OPERATION_SIZE);
+            buffer.put((byte) operation.ordinal()).putInt(first).putInt(second);
+            operationCount++;
+            head.apply(operation, first, second);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public long getOperationCount() { return operationCount; }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+            ByteBuffer count = ByteBuffer.allocate(8).order(TraceFile.ORDER).putLong(0, operationCount);
+            channel.write(count, TraceFile.OPERATION_COUNT_OFFSET);
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void writeHeader(int arrayLength, String label) throws IOException {
+        byte[] labelBytes = label == null ? new byte[0] : label.getBytes(StandardCharsets.UTF_8);
+        int labelLength = Math.min(labelBytes.length, TraceFile.MAX_LABEL_BYTES);
+        buffer.putInt(TraceFile.MAGIC)
+                .putInt(TraceFile.VERSION)
+                .putInt(arrayLength)
+                .putInt(keyframeInterval)
+                .putLong(0L)
+                .putInt(labelLength)
+                .put(labelBytes, 0, labelLength);
+        buffer.position(TraceFile.HEADER_SIZE);
+    }
+
+    private void writeKeyframe() throws IOException {
+        for (int i = 0; i < head.length(); i++) {
+            ensureRemaining(4);
+            buffer.putInt(head.getValue(i));
+        }
+    }
+
+    private void ensureRemaining(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) flush();
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) channel.write(buffer);
+        buffer.clear();
+    }
+}
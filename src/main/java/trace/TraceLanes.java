@@ -0,0 +1,106 @@
+package trace;
+
+import sort.Operation;
+import sort.SortEventSink;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.function.IntFunction;
+
+public class TraceLanes implements IntFunction<SortEventSink> {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final Operation[] OPERATIONS = Operation.values();
+
+    private final List<Lane> lanes = new ArrayList<>();
+    private volatile boolean cancelled = false;
+
+    @Override
+    public SortEventSink apply(int worker) {
+        Lane lane = new Lane(worker);
+        synchronized (lanes) {
+            lanes.add(lane);
+        }
+        return lane;
+    }
+
+    public void cancel() { cancelled = true; }
+
+    public int getWorkerCount() {
+        synchronized (lanes) {
+            return lanes.size();
+        }
+    }
+
+    public long size() {
+        synchronized (lanes) {
+            return lanes.stream().mapToLong(lane -> lane.size).sum();
+        }
+    }
+
+    public void mergeInto(TraceRecorder target) {
+        Lane[] heads;
+        synchronized (lanes) {
+            heads = lanes.toArray(new Lane[0]);
+        }
+        int[] positions = new int[heads.length];
+        while (true) {
+            int next = -1;
+            long earliest = Long.MAX_VALUE;
+            for (int l = 0; l < heads.length; l++) {
+                if (positions[l] < heads[l].size && heads[l].stamps[positions[l]] < earliest) {
+                    earliest = heads[l].stamps[positions[l]];
+                    next = l;
+                }
+            }
+            if (next < 0) return;
+            Lane lane = heads[next];
+            int p = positions[next]++;
+            target.append(OPERATIONS[lane.operations[p]], lane.firstOperands[p], lane.secondOperands[p], lane.worker);
+        }
+    }
+
+    private final class Lane implements TraceRecorder {
+
+        private final int worker;
+        private long[] stamps = new long[INITIAL_CAPACITY];
+        private byte[] operations = new byte[INITIAL_CAPACITY];
+        private int[] firstOperands = new int[INITIAL_CAPACITY];
+        private int[] secondOperands = new int[INITIAL_CAPACITY];
+        private int size = 0;
+        private long clock = 0;
+
+        Lane(int worker) {
+            this.worker = worker;
+        }
+
+        @Override
+        public long logicalTime() { return clock; }
+
+        @Override
+        public void advanceTo(long time) {
+            if (time > clock) clock = time;
+        }
+
+        @Override
+        public void append(Operation operation, int first, int second) {
+            if (cancelled) throw new CancellationException();
+            if (size == operations.length) grow();
+            stamps[size] = ++clock;
+            operations[size] = (byte) operation.ordinal();
+            firstOperands[size] = first;
+            secondOperands[size] = second;
+            size++;
+        }
+
+        private void grow() {
+            int capacity = operations.length + (operations.length >> 1);
+            stamps = Arrays.copyOf(stamps, capacity);
+            operations = Arrays.copyOf(operations, capacity);
+            firstOperands = Arrays.copyOf(firstOperands, capacity);
+            secondOperands = Arrays.copyOf(secondOperands, capacity);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package trace;
+
+import sort.Operation;
+import sort.SortEventSink;
+
+@FunctionalInterface
+public interface TraceRecorder extends SortEventSink {
+
+    void append(Operation operation, int first, int second);
+
+    default void append(Operation operation, int first, int second, int worker) {
+        append(operation, first, second);
+    }
+
+    @Override
+    default void onCompare(int i, int j) { append(Operation.COMPARE, i, j); }
+
+    @Override
+    default void onSwap(int i, int j) { append(Operation.SWAP, i, j); }
+
+    @Override
+    default void onWrite(int index, int value) { append(Operation.WRITE, index, value); }
+
+    @Override
+    default void onHistogram(int index, int bucket) { append(Operation.HISTOGRAM, index, bucket); }
+
+    @Override
+    default void onScatter(int index, int value) { append(Operation.SCATTER, index, value); }
+
+    @Override
+    default void onPhase(Operation phase) { append(phase, -1, -1); }
+}
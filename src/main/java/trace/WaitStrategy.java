@@ -0,0 +1,24 @@
+package trace;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+public enum WaitStrategy {
+
+    SPIN {
+        @Override
+        void idle() { Thread.onSpinWait(); }
+    },
+    YIELD {
+        @Override
+        void idle() { Thread.yield(); }
+    },
+    PARK {
+        @Override
+        void idle() { LockSupport.parkNanos(PARK_NANOS); }
+    };
+
+    private static final long PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    abstract void idle();
+}
@@ -0,0 +1,191 @@
+package ui;
+
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+import sort.SortStep;
+
+public final class BarCanvas extends Canvas {
+
+    private static final Color BAR_DEFAULT = Color.STEELBLUE;
+    private static final Color BAR_HIGHLIGHT_A = Color.RED;
+    private static final Color BAR_HIGHLIGHT_B = Color.ORANGE;
+    private static final Color BAR_SORTED = Color.LIMEGREEN;
+    private static final Color BAR_RANGE = Color.LIGHTSTEELBLUE;
+    private static final Color[] WORKER_COLORS = {
+            Color.STEELBLUE, Color.MEDIUMPURPLE, Color.TEAL, Color.SLATEGRAY,
+            Color.ORCHID, Color.CADETBLUE, Color.SIENNA, Color.DARKKHAKI
+    };
+    private static final double PADDING = 16;
+
+    private int[] currentArray = new int[0];
+    private int[] highlightedIndices = new int[0];
+    private byte[] owners;
+    private boolean sortDone = false;
+
+    private int cachedMax = 1;
+    private double slotW;
+    private double barW;
+    private boolean layoutValid = false;
+    private ColumnBins bins;
+
+    public BarCanvas(double width, double height) {
+        super(width, height);
+        widthProperty().addListener(o -> redraw());
+        heightProperty().addListener(o -> redraw());
+    }
+
+    public void reset(int[] array) {
+        currentArray = array.clone();
+        highlightedIndices = new int[0];
+        owners = null;
+        sortDone = false;
+        redraw();
+    }
+
+    public void show(SortStep step) {
+        int[] previousHighlights = highlightedIndices;
+        boolean wasDone = sortDone;
+        currentArray = step.getArrayState();
+        highlightedIndices = step.getHighlightedIndices();
+        owners = step.getOwners();
+        sortDone = step.isSortComplete();
+
+        int[] changed = step.getChangedIndices();
+        if (changed == null || wasDone != sortDone || !canRepaintIncrementally()) {
+            redraw();
+        } else {
+            repaint(changed, previousHighlights);
+        }
+    }
+
+    public void markSorted() {
+        sortDone = true;
+        highlightedIndices = new int[0];
+        redraw();
+    }
+
+    private void redraw() {
+        GraphicsContext gc = getGraphicsContext2D();
+        double w = getWidth();
+        double h = getHeight();
+
+        gc.setFill(Color.WHITE);
+        gc.fillRect(0, 0, w, h);
+        layoutValid = false;
+
+        if (currentArray.length == 0) return;
+
+        if (currentArray.length > (int) w) {
+            if (bins != null && bins.columns() == (int) w && bins.length() == currentArray.length) {
+                bins.reload(currentArray);
+            } else {
+                bins = new ColumnBins(currentArray, (int) w);
+            }
+            cachedMax = Math.max(1, bins.overallMax());
+            layoutValid = true;
+            for (int c = 0; c < bins.columns(); c++) paintColumn(gc, c, false);
+            return;
+        }
+        bins = null;
+
+        int max = 1;
+        for (int value : currentArray) max = Math.max(max, value);
+        cachedMax = max;
+        slotW = w / currentArray.length;
+        barW = Math.max(slotW * 0.8, 2);
+        layoutValid = true;
+
+        for (int i = 0; i < currentArray.length; i++) paintBar(gc, i, false);
+    }
+
+    private boolean canRepaintIncrementally() {
+        if (!layoutValid) return false;
+        if (bins != null) return bins.columns() == (int) getWidth() && bins.length() == currentArray.length;
+        return barW <= slotW && slotW == getWidth() / currentArray.length;
+    }
+
+    private void repaint(int[] changed, int[] previousHighlights) {
+        if (bins != null) {
+            repaintColumns(changed, previousHighlights);
+            return;
+        }
+        for (int index : changed) {
+            if (currentArray[index] > cachedMax) {
+                redraw();
+                return;
+            }
+        }
+        GraphicsContext gc = getGraphicsContext2D();
+        for (int index : previousHighlights) paintBar(gc, index, true);
+        for (int index : changed) paintBar(gc, index, true);
+        for (int index : highlightedIndices) paintBar(gc, index, true);
+    }
+
+    private void paintBar(GraphicsContext gc, int i, boolean clear) {
+        double h = getHeight();
+        double slotX = slotW * i;
+        double x = slotX + (slotW - barW) / 2.0;
+        if (clear) {
+            double clearX = Math.max(slotX, x - 1);
+            double clearW = Math.min(slotX + slotW, x + barW + 1) - clearX;
+            gc.setFill(Color.WHITE);
+            gc.fillRect(clearX, 0, clearW, h);
+        }
+        double barH = (double) currentArray[i] / cachedMax * (h - PADDING);
+        gc.setFill(barColor(i));
+        gc.fillRect(x, h - barH, barW, barH);
+    }
+
+    private void repaintColumns(int[] changed, int[] previousHighlights) {
+        for (int index : changed) bins.update(index, currentArray[index]);
+        for (int index : previousHighlights) bins.markDirty(bins.columnOf(index));
+        for (int index : highlightedIndices) bins.markDirty(bins.columnOf(index));
+        for (int i = 0; i < bins.getDirtyCount(); i++) {
+            if (bins.getMax(bins.getDirtyColumn(i)) > cachedMax) {
+                bins.clearDirty();
+                redraw();
+                return;
+            }
+        }
+        GraphicsContext gc = getGraphicsContext2D();
+        for (int i = 0; i < bins.getDirtyCount(); i++) paintColumn(gc, bins.getDirtyColumn(i), true);
+        bins.clearDirty();
+    }
+
+    private void paintColumn(GraphicsContext gc, int c, boolean clear) {
+        double h = getHeight();
+        double scale = (h - PADDING) / cachedMax;
+        if (clear) {
+            gc.setFill(Color.WHITE);
+            gc.fillRect(c, 0, 1, h);
+        }
+        double minH = bins.getMin(c) * scale;
+        double maxH = bins.getMax(c) * scale;
+        double meanH = bins.getMean(c) * scale;
+        Color color = columnColor(c);
+        gc.setFill(color);
+        gc.fillRect(c, h - minH, 1, minH);
+        gc.setFill(sortDone ? BAR_SORTED : BAR_RANGE);
+        gc.fillRect(c, h - maxH, 1, maxH - minH);
+        gc.setFill(color);
+        gc.fillRect(c, h - meanH - 1, 1, 2);
+    }
+
+    private Color columnColor(int c) {
+        if (sortDone) return BAR_SORTED;
+        for (int k = 0; k < highlightedIndices.length; k++) {
+            if (bins.contains(c, highlightedIndices[k])) return k == 0 ? BAR_HIGHLIGHT_A : BAR_HIGHLIGHT_B;
+        }
+        return BAR_DEFAULT;
+    }
+
+    private Color barColor(int i) {
+        if (sortDone) return BAR_SORTED;
+        for (int k = 0; k < highlightedIndices.length; k++) {
+            if (highlightedIndices[k] == i) return k == 0 ? BAR_HIGHLIGHT_A : BAR_HIGHLIGHT_B;
+        }
+        if (owners != null && owners[i] != 0) return WORKER_COLORS[((owners[i] & 0xFF) - 1) % WORKER_COLORS.length];
+        return BAR_DEFAULT;
+    }
+}
@@ -0,0 +1,104 @@
+package ui;
+
+import java.util.Arrays;
+
+class ColumnBins {
+
+    private final int columns;
+    private final int[] shadow;
+    private final int[] min;
+    private final int[] max;
+    private final long[] sum;
+    private final int[] start;
+    private final boolean[] dirty;
+    private final int[] dirtyColumns;
+    private int dirtyCount = 0;
+
+    ColumnBins(int[] values, int columns) {
+        this.columns = columns;
+        this.shadow = values.clone();
+        this.min = new int[columns];
+        this.max = new int[columns];
+        this.sum = new long[columns];
+        this.start = new int[columns + 1];
+        this.dirty = new boolean[columns];
+        this.dirtyColumns = new int[columns];
+        for (int c = 0; c <= columns; c++) start[c] = (int) ((long) c * values.length / columns);
+        for (int c = 0; c < columns; c++) rescan(c);
+    }
+
+    void reload(int[] values) {
+        System.arraycopy(values, 0, shadow, 0, shadow.length);
+        for (int c = 0; c < columns; c++) rescan(c);
+        clearDirty();
+    }
+
+    int columns() { return columns; }
+    int length() { return shadow.length; }
+    int getMin(int column) { return min[column]; }
+    int getMax(int column) { return max[column]; }
+
+    double getMean(int column) {
+        int count = start[column + 1] - start[column];
+        return count == 0 ? 0 : (double) sum[column] / count;
+    }
+
+    int columnOf(int index) {
+        int column = (int) ((long) index * columns / shadow.length);
+        while (column > 0 && start[column] > index) column--;
+        while (column < columns - 1 && start[column + 1] <= index) column++;
+        return column;
+    }
+
+    boolean contains(int column, int index) {
+        return index >= start[column] && index < start[column + 1];
+    }
+
+    void update(int index, int value) {
+        int old = shadow[index];
+        if (old == value) return;
+        shadow[index] = value;
+        int c = columnOf(index);
+        sum[c] += (long) value - old;
+        if ((old == max[c] && value < old) || (old == min[c] && value > old)) {
+            rescan(c);
+        } else {
+            if (value > max[c]) max[c] = value;
+            if (value < min[c]) min[c] = value;
+        }
+        markDirty(c);
+    }
+
+    void markDirty(int column) {
+        if (dirty[column]) return;
+        dirty[column] = true;
+        dirtyColumns[dirtyCount++] = column;
+    }
+
+    int getDirtyCount() { return dirtyCount; }
+    int getDirtyColumn(int i) { return dirtyColumns[i]; }
+
+    void clearDirty() {
+        for (int i = 0; i < dirtyCount; i++) dirty[dirtyColumns[i]] = false;
+        dirtyCount = 0;
+    }
+
+    int overallMax() {
+        return Arrays.stream(max).max().orElse(1);
+    }
+
+    private void rescan(int c) {
+        int lo = start[c], hi = start[c + 1];
+        int mn = Integer.MAX_VALUE, mx = Integer.MIN_VALUE;
+        long total = 0;
+        for (int i = lo; i < hi; i++) {
+            int v = shadow[i];
+            if (v < mn) mn = v;
+            if (v > mx) mx = v;
+            total += v;
+        }
+        min[c] = lo == hi ? 0 : mn;
+        max[c] = lo == hi ? 0 : mx;
+        sum[c] = total;
+    }
+}
@@ -1,23 +1,57 @@
 package ui;
 
 import factory.SortingAlgorithmFactory.AlgorithmType;
+import input.CollectionReader;
+import input.InputGenerator;
 import javafx.collections.FXCollections;
+import javafx.concurrent.Task;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.control.*;
 import javafx.scene.layout.*;
+import javafx.stage.FileChooser;
 import mediator.Colleague;
 import mediator.Mediator;
 import mediator.AppMediator;
+import model.Distribution;
+import model.ExecutionMode;
+import model.RaceParameters;
 import model.SimulationSpeed;
 import model.SortingParameters;
+import trace.MappedTrace;
+import trace.Trace;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
 
 public class ParameterPage extends Colleague {
 
+    private static final int MAX_GENERATED_SIZE = maxTracedSize(Runtime.getRuntime().maxMemory() / 2);
+
     private final BorderPane root;
     private ComboBox<String> cbAlgorithm;
     private TextField tfCollection;
+    private int[] loadedCollection;
+    private Task<int[]> loadTask;
+    private MappedTrace loadedTrace;
+    private Button btnStart;
+    private ProgressBar pbLoad;
+    private CheckBox chkGenerate;
+    private ComboBox<Distribution> cbDistribution;
+    private TextField tfSize;
+    private TextField tfSeed;
+    private TextField tfSwaps;
     private ComboBox<SimulationSpeed> cbSpeed;
+    private CheckBox chkDuration;
+    private TextField tfDuration;
+    private CheckBox chkRace;
+    private ListView<String> lvRace;
+    private CheckBox chkParallel;
+    private CheckBox chkStreaming;
+    private CheckBox chkRecordToDisk;
     private Label lblError;
 
     public ParameterPage(Mediator mediator) {
@@ -27,6 +61,15 @@ public class ParameterPage extends Colleague {
 
     public Pane getRoot() { return root; }
 
+    public void releaseTrace() {
+        if (loadedTrace == null) return;
+        try {
+            loadedTrace.close();
+        } catch (IOException ignored) {
+        }
+        loadedTrace = null;
+    }
+
     private BorderPane buildUI() {
         BorderPane page = new BorderPane();
         page.setPadding(new Insets(20));
@@ -45,29 +88,96 @@ public class ParameterPage extends Colleague {
         form.setPadding(new Insets(20));
         form.setMaxWidth(420);
 
-        cbAlgorithm = new ComboBox<>(FXCollections.observableArrayList("Quick Sort", "Merge Sort"));
+        cbAlgorithm = new ComboBox<>(FXCollections.observableArrayList(
+                "Quick Sort", "Merge Sort", "Intro Sort", "Bottom-Up Merge Sort", "Natural Merge Sort",
+                "Radix Sort (8 bits)", "Radix Sort (11 bits)", "Radix Sort (16 bits)", "Counting Sort"));
         cbAlgorithm.setValue("Merge Sort");
         cbAlgorithm.setMaxWidth(Double.MAX_VALUE);
 
+        chkRace = new CheckBox("Course : comparer plusieurs algorithmes");
+        lvRace = new ListView<>(FXCollections.observableArrayList(cbAlgorithm.getItems()));
+        lvRace.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);
+        lvRace.setPrefHeight(96);
+        lvRace.visibleProperty().bind(chkRace.selectedProperty());
+        lvRace.managedProperty().bind(chkRace.selectedProperty());
+        cbAlgorithm.disableProperty().bind(chkRace.selectedProperty());
+
         tfCollection = new TextField("50,87,56,12,75,100,20,34,9");
         tfCollection.setMaxWidth(Double.MAX_VALUE);
+        tfCollection.textProperty().addListener((obs, old, text) -> {
+            if (!text.isEmpty()) clearLoadedCollection();
+        });
+
+        Button btnLoadFile = new Button("Charger un fichier...");
+        btnLoadFile.setOnAction(e -> onLoadFile());
+        pbLoad = new ProgressBar(0);
+        pbLoad.setMaxWidth(Double.MAX_VALUE);
+        pbLoad.setVisible(false);
+        Button btnCancelLoad = new Button("Annuler");
+        btnCancelLoad.visibleProperty().bind(pbLoad.visibleProperty());
+        btnCancelLoad.setOnAction(e -> {
+            if (loadTask != null) loadTask.cancel();
+        });
+        HBox fileRow = new HBox(8, btnLoadFile, pbLoad, btnCancelLoad);
+        fileRow.setAlignment(Pos.CENTER_LEFT);
+        HBox.setHgrow(pbLoad, Priority.ALWAYS);
+        chkGenerate = new CheckBox("Generer l'entree");
+        cbDistribution = new ComboBox<>(FXCollections.observableArrayList(Distribution.values()));
+        cbDistribution.setValue(Distribution.UNIFORM);
+        cbDistribution.setMaxWidth(Double.MAX_VALUE);
+        tfSize = new TextField("1000");
+        tfSize.setPrefColumnCount(8);
+        tfSeed = new TextField("42");
+        tfSeed.setPrefColumnCount(6);
+        tfSwaps = new TextField();
+        tfSwaps.setPromptText("taille / 100");
+        tfSwaps.setPrefColumnCount(6);
+        tfSwaps.disableProperty().bind(cbDistribution.valueProperty().isNotEqualTo(Distribution.NEARLY_SORTED));
+        HBox generator = new HBox(8, cbDistribution, new Label("Taille"), tfSize, new Label("Graine"), tfSeed,
+                new Label("Echanges"), tfSwaps);
+        generator.setAlignment(Pos.CENTER_LEFT);
+        HBox.setHgrow(cbDistribution, Priority.ALWAYS);
+        generator.disableProperty().bind(chkGenerate.selectedProperty().not());
+        tfCollection.disableProperty().bind(chkGenerate.selectedProperty());
+        btnLoadFile.disableProperty().bind(chkGenerate.selectedProperty().or(pbLoad.visibleProperty()));
 
         cbSpeed = new ComboBox<>(FXCollections.observableArrayList(SimulationSpeed.values()));
         cbSpeed.setValue(SimulationSpeed.FAST);
         cbSpeed.setMaxWidth(Double.MAX_VALUE);
+        chkDuration = new CheckBox("Duree cible (s)");
+        tfDuration = new TextField("20");
+        tfDuration.setPrefColumnCount(5);
+        tfDuration.disableProperty().bind(chkDuration.selectedProperty().not());
+        cbSpeed.disableProperty().bind(chkDuration.selectedProperty());
+        HBox durationRow = new HBox(8, chkDuration, tfDuration);
+        durationRow.setAlignment(Pos.CENTER_LEFT);
+
+        chkParallel = new CheckBox("Tri parallele (fork/join)");
+        chkStreaming = new CheckBox("Lecture en continu (pendant le tri)");
+        chkParallel.disableProperty().bind(chkRace.selectedProperty());
+        chkStreaming.disableProperty().bind(chkParallel.selectedProperty().or(chkRace.selectedProperty()));
+        chkRecordToDisk = new CheckBox("Enregistrer la trace sur disque");
+        chkRecordToDisk.disableProperty().bind(chkParallel.selectedProperty().or(chkRace.selectedProperty()));
 
         lblError = new Label("");
         lblError.setStyle("-fx-text-fill: red;");
 
-        Button btnStart = new Button("Demarrer");
+        btnStart = new Button("Demarrer");
+        btnStart.disableProperty().bind(pbLoad.visibleProperty());
         btnStart.setMaxWidth(Double.MAX_VALUE);
         btnStart.setOnAction(e -> onStart());
 
+        Button btnLoadTrace = new Button("Rejouer une trace...");
+        btnLoadTrace.setMaxWidth(Double.MAX_VALUE);
+        btnLoadTrace.setOnAction(e -> onLoadTrace());
+
         form.getChildren().addAll(
-                new Label("Algorithme de tri"), cbAlgorithm,
-                new Label("Collection d'entiers (separes par virgules)"), tfCollection,
-                new Label("Vitesse de simulation"), cbSpeed,
-                lblError, btnStart
+                new Label("Algorithme de tri"), cbAlgorithm, chkRace, lvRace,
+                new Label("Collection d'entiers (separes par virgules)"), tfCollection, fileRow,
+                chkGenerate, generator,
+                new Label("Vitesse de simulation"), cbSpeed, durationRow,
+                chkParallel, chkStreaming, chkRecordToDisk,
+                lblError, btnStart, btnLoadTrace
         );
 
         StackPane center = new StackPane(form);
@@ -79,35 +189,222 @@ public class ParameterPage extends Colleague {
     private void onStart() {
         lblError.setText("");
         try {
-            int[] collection = parseCollection(tfCollection.getText());
-            AlgorithmType type = nameToType(cbAlgorithm.getValue());
             SimulationSpeed speed = cbSpeed.getValue();
-            send(AppMediator.EVT_START_SORT, new SortingParameters(collection, type, speed));
+            Duration duration = targetDuration();
+            if (!chkGenerate.isSelected()) {
+                launch(loadedCollection != null ? loadedCollection : parseCollection(tfCollection.getText()), null, 0, 0, speed, duration);
+                return;
+            }
+            Distribution distribution = cbDistribution.getValue();
+            int size = parseSize(tfSize.getText());
+            long seed = parseSeed(tfSeed.getText());
+            int swaps = parseSwaps(tfSwaps.getText(), size);
+            Task<int[]> task = new Task<>() {
+                @Override
+                protected int[] call() {
+                    return InputGenerator.generate(distribution, size, seed, swaps);
+                }
+            };
+            task.setOnSucceeded(e -> {
+                endLoad();
+                try {
+                    launch(task.getValue(), distribution, seed, swaps, speed, duration);
+                } catch (Exception ex) {
+                    lblError.setText(ex.getMessage());
+                }
+            });
+            task.setOnFailed(e -> {
+                lblError.setText("Generation impossible : " + task.getException().getMessage());
+                endLoad();
+            });
+            task.setOnCancelled(e -> {
+                lblError.setText("Generation annulee.");
+                endLoad();
+            });
+            runInBackground(task, "input-generator");
         } catch (Exception ex) {
             lblError.setText(ex.getMessage());
         }
     }
 
-    private int[] parseCollection(String input) {
-        String trimmed = input.trim();
-        if (trimmed.isEmpty()) throw new IllegalArgumentException("La collection est vide.");
-        String[] tokens = trimmed.split(",");
-        int[] result = new int[tokens.length];
-        for (int i = 0; i < tokens.length; i++) {
-            try {
-                result[i] = Integer.parseInt(tokens[i].trim());
-            } catch (NumberFormatException e) {
-                throw new IllegalArgumentException("Valeur invalide : \"" + tokens[i].trim() + "\"");
+    private void launch(int[] collection, Distribution distribution, long seed, int swaps, SimulationSpeed speed, Duration duration) {
+        if (chkRace.isSelected()) {
+            List<AlgorithmType> types = lvRace.getSelectionModel().getSelectedItems().stream().map(this::nameToType).toList();
+            send(AppMediator.EVT_START_RACE, new RaceParameters(collection, types, speed, duration));
+            return;
+        }
+        AlgorithmType type = nameToType(cbAlgorithm.getValue());
+        SortingParameters params = distribution == null
+                ? new SortingParameters(collection, type, speed)
+                : SortingParameters.generated(collection, distribution, seed, swaps, type, speed);
+        params.setExecutionMode(chkParallel.isSelected() ? ExecutionMode.PARALLEL : ExecutionMode.SEQUENTIAL);
+        params.setStreaming(chkStreaming.isSelected());
+        params.setRecordToDisk(chkRecordToDisk.isSelected());
+        params.setTargetDuration(duration);
+        send(AppMediator.EVT_START_SORT, params);
+    }
+
+    private void onLoadFile() {
+        lblError.setText("");
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Charger une collection");
+        chooser.getExtensionFilters().addAll(
+                new FileChooser.ExtensionFilter("Entiers (texte, CSV)", "*.csv", "*.txt"),
+                new FileChooser.ExtensionFilter("Entiers int32 little-endian", "*.bin", "*.i32", "*.raw"),
+                new FileChooser.ExtensionFilter("Tous les fichiers", "*.*"));
+        File file = chooser.showOpenDialog(root.getScene().getWindow());
+        if (file == null) return;
+        Path path = file.toPath();
+        Task<int[]> task = new Task<>() {
+            @Override
+            protected int[] call() throws IOException {
+                return CollectionReader.read(path, CollectionReader.Format.detect(path), this::updateProgress);
+            }
+        };
+        task.setOnSucceeded(e -> {
+            int[] values = task.getValue();
+            if (values.length < 2) {
+                lblError.setText("Minimum 2 elements requis.");
+            } else {
+                tfCollection.clear();
+                loadedCollection = values;
+                tfCollection.setPromptText(file.getName() + " : " + values.length + " valeurs");
             }
+            endLoad();
+        });
+        task.setOnFailed(e -> {
+            lblError.setText(task.getException().getMessage());
+            endLoad();
+        });
+        task.setOnCancelled(e -> {
+            lblError.setText("Chargement annule.");
+            endLoad();
+        });
+        runInBackground(task, "collection-loader");
+    }
+
+    private void runInBackground(Task<int[]> task, String name) {
+        loadTask = task;
+        pbLoad.progressProperty().bind(task.progressProperty());
+        pbLoad.setVisible(true);
+        Thread worker = new Thread(task, name);
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    private void endLoad() {
+        loadTask = null;
+        pbLoad.progressProperty().unbind();
+        pbLoad.setVisible(false);
+    }
+
+    private void clearLoadedCollection() {
+        loadedCollection = null;
+        tfCollection.setPromptText("");
+    }
+
+    private void onLoadTrace() {
+        lblError.setText("");
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Rejouer une trace");
+        chooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("Traces de tri", "*.strc"));
+        File file = chooser.showOpenDialog(root.getScene().getWindow());
+        if (file == null) return;
+        releaseTrace();
+        try {
+            Duration duration = targetDuration();
+            MappedTrace trace = MappedTrace.open(file.toPath());
+            loadedTrace = trace;
+            SortingParameters params = new SortingParameters(trace.copyInitialState(), labelToType(trace.getLabel()), cbSpeed.getValue());
+            params.setTrace(trace);
+            params.setTargetDuration(duration);
+            send(AppMediator.EVT_START_SORT, params);
+        } catch (IOException | IllegalArgumentException ex) {
+            releaseTrace();
+            lblError.setText(ex.getMessage());
         }
+    }
+
+    private AlgorithmType labelToType(String label) {
+        try {
+            return AlgorithmType.valueOf(label);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private int[] parseCollection(String input) {
+        if (input.isBlank()) throw new IllegalArgumentException("La collection est vide.");
+        int[] result = CollectionReader.parse(input);
         if (result.length < 2) throw new IllegalArgumentException("Minimum 2 elements requis.");
         return result;
     }
 
+    private int parseSize(String input) {
+        try {
+            int size = Integer.parseInt(input.trim().replace("_", ""));
+            if (size < 2) throw new IllegalArgumentException("Minimum 2 elements requis.");
+            if (size > MAX_GENERATED_SIZE) {
+                throw new IllegalArgumentException("Taille trop grande : " + size + " (maximum " + MAX_GENERATED_SIZE + " pour la memoire disponible)");
+            }
+            return size;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Taille invalide : \"" + input.trim() + "\"");
+        }
+    }
+
+    private static int maxTracedSize(long heapBudget) {
+        int low = 2, high = Integer.MAX_VALUE - 8;
+        while (low < high) {
+            int mid = (int) (((long) low + high + 1) >>> 1);
+            if (Trace.estimatedBytes(mid) <= heapBudget) low = mid;
+            else high = mid - 1;
+        }
+        return low;
+    }
+
+    private int parseSwaps(String input, int size) {
+        if (input.isBlank()) return InputGenerator.defaultSwaps(size);
+        try {
+            int swaps = Integer.parseInt(input.trim().replace("_", ""));
+            if (swaps < 0) throw new NumberFormatException();
+            return swaps;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Nombre d'echanges invalide : \"" + input.trim() + "\"");
+        }
+    }
+
+    private long parseSeed(String input) {
+        try {
+            return Long.parseLong(input.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Graine invalide : \"" + input.trim() + "\"");
+        }
+    }
+
+    private Duration targetDuration() {
+        if (!chkDuration.isSelected()) return null;
+        String input = tfDuration.getText().trim().replace(',', '.');
+        try {
+            double seconds = Double.parseDouble(input);
+            if (!(seconds > 0 && seconds <= 86_400)) throw new NumberFormatException();
+            return Duration.ofMillis(Math.round(seconds * 1000));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Duree invalide : \"" + input + "\"");
+        }
+    }
+
     private AlgorithmType nameToType(String name) {
         return switch (name) {
             case "Quick Sort" -> AlgorithmType.QUICK_SORT;
             case "Merge Sort" -> AlgorithmType.MERGE_SORT;
+            case "Intro Sort" -> AlgorithmType.INTRO_SORT;
+            case "Bottom-Up Merge Sort" -> AlgorithmType.BOTTOM_UP_MERGE_SORT;
+            case "Natural Merge Sort" -> AlgorithmType.NATURAL_MERGE_SORT;
+            case "Radix Sort (8 bits)" -> AlgorithmType.RADIX_SORT_8;
+            case "Radix Sort (11 bits)" -> AlgorithmType.RADIX_SORT_11;
+            case "Radix Sort (16 bits)" -> AlgorithmType.RADIX_SORT_16;
+            case "Counting Sort" -> AlgorithmType.COUNTING_SORT;
             default -> throw new IllegalArgumentException("Algorithme inconnu.");
         };
     }
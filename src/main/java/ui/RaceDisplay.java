@@ -0,0 +1,12 @@
+package ui;
+
+import controller.RaceResult;
+
+import java.util.List;
+
+public interface RaceDisplay {
+    VisualizationDisplay getLane(int index);
+    void onRecorded(int finished, int total);
+    void updateProgress(int position, int total);
+    void showSummary(List<RaceResult> results);
+}
@@ -0,0 +1,188 @@
+package ui;
+
+import controller.RaceController;
+import controller.RaceResult;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.Slider;
+import javafx.scene.layout.*;
+import mediator.AppMediator;
+import mediator.Colleague;
+import mediator.Mediator;
+import model.RaceParameters;
+import sort.SortMetrics;
+import sort.SortStep;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class RacePage extends Colleague implements RaceDisplay {
+
+    private static final double WIDTH = 950;
+    private static final double LANES_HEIGHT = 440;
+    private static final double GAP = 8;
+
+    private final BorderPane root;
+    private final GridPane grid;
+    private final Label lblStatus;
+    private final Label lblSummary;
+    private final Button btnBack;
+    private final Button btnPause;
+    private final Slider scrubBar;
+    private final RaceController controller;
+    private final List<Lane> lanes = new ArrayList<>();
+    private boolean updatingScrubBar = false;
+
+    public RacePage(Mediator mediator) {
+        super(mediator);
+        controller = new RaceController(this);
+
+        btnBack = new Button("Retour");
+        btnBack.setOnAction(e -> send(AppMediator.EVT_BACK));
+
+        Label title = new Label("Course");
+        title.setStyle("-fx-font-size: 16; -fx-font-weight: bold;");
+        lblStatus = new Label("");
+
+        Region spacer = new Region();
+        HBox.setHgrow(spacer, Priority.ALWAYS);
+        HBox topBar = new HBox(12, btnBack, title, spacer, lblStatus);
+        topBar.setAlignment(Pos.CENTER_LEFT);
+        topBar.setPadding(new Insets(8, 12, 8, 12));
+
+        grid = new GridPane();
+        grid.setHgap(GAP);
+        grid.setVgap(GAP);
+        grid.setPadding(new Insets(0, 12, 0, 12));
+
+        lblSummary = new Label("");
+        lblSummary.setStyle("-fx-font-family: monospace;");
+        lblSummary.setPadding(new Insets(4, 12, 0, 12));
+
+        btnPause = new Button("Pause");
+        btnPause.setOnAction(e -> {
+            controller.setPaused(!controller.isPaused());
+            refreshPauseButton();
+        });
+        scrubBar = new Slider(0, 1, 0);
+        scrubBar.valueProperty().addListener((obs, oldValue, newValue) -> {
+            if (updatingScrubBar) return;
+            controller.seek((int) Math.round(newValue.doubleValue()));
+            refreshPauseButton();
+        });
+        HBox.setHgrow(scrubBar, Priority.ALWAYS);
+        HBox bottomBar = new HBox(8, btnPause, scrubBar);
+        bottomBar.setAlignment(Pos.CENTER_LEFT);
+        bottomBar.setPadding(new Insets(8, 12, 8, 12));
+
+        root = new BorderPane();
+        root.setTop(topBar);
+        root.setCenter(new VBox(grid, lblSummary));
+        root.setBottom(bottomBar);
+    }
+
+    public Pane getRoot() { return root; }
+
+    public void prepare(RaceParameters params) {
+        int count = params.getAlgorithmTypes().size();
+        int columns = count <= 2 ? 1 : 2;
+        int rows = (count + columns - 1) / columns;
+        double laneWidth = (WIDTH - 24 - GAP * (columns - 1)) / columns;
+        double laneHeight = (LANES_HEIGHT - GAP * (rows - 1)) / rows - 20;
+
+        grid.getChildren().clear();
+        lanes.clear();
+        for (int i = 0; i < count; i++) {
+            Lane lane = new Lane(params.getAlgorithmTypes().get(i).toString().replace("_", " "), laneWidth, laneHeight);
+            lanes.add(lane);
+            grid.add(lane.box, i % columns, i / columns);
+        }
+        lblStatus.setText("Enregistrement : 0 / " + count);
+        lblSummary.setText("");
+        setPlaybackControlsDisabled(true);
+        controller.prepare(params);
+        refreshPauseButton();
+    }
+
+    public void startRace() { controller.start(); }
+
+    public void stopRace() { controller.stop(); }
+
+    @Override
+    public VisualizationDisplay getLane(int index) { return lanes.get(index); }
+
+    @Override
+    public void onRecorded(int finished, int total) {
+        lblStatus.setText(finished == total ? "Lecture" : "Enregistrement : " + finished + " / " + total);
+        if (finished == total) setPlaybackControlsDisabled(false);
+    }
+
+    @Override
+    public void updateProgress(int position, int total) {
+        lblStatus.setText("Etape : " + position + " / " + total);
+        updatingScrubBar = true;
+        scrubBar.setMax(Math.max(total, 1));
+        scrubBar.setValue(position);
+        updatingScrubBar = false;
+    }
+
+    @Override
+    public void showSummary(List<RaceResult> results) {
+        StringBuilder summary = new StringBuilder();
+        int rank = 1;
+        for (RaceResult result : results) {
+            summary.append(String.format("%d. %-22s %,12d etapes  %10.3f ms  (%,d comp., %,d ech., %,d ecr.)%s%n",
+                    rank++, result.name(), result.steps(), result.wallNanos() / 1e6,
+                    result.comparisons(), result.swaps(), result.writes(), result.failed() ? "  ECHEC : " + result.failure() : ""));
+        }
+        if (results.size() > 1) summary.append("Temps mesures pendant l'enregistrement simultane des couloirs, concurrence comprise.");
+        lblSummary.setText(summary.toString().stripTrailing());
+    }
+
+    private void setPlaybackControlsDisabled(boolean disabled) {
+        btnPause.setDisable(disabled);
+        scrubBar.setDisable(disabled);
+    }
+
+    private void refreshPauseButton() {
+        btnPause.setText(controller.isPaused() ? "Lecture" : "Pause");
+    }
+
+    private static final class Lane implements VisualizationDisplay {
+
+        private final String name;
+        private final Label label;
+        private final BarCanvas canvas;
+        private final VBox box;
+
+        Lane(String name, double width, double height) {
+            this.name = name;
+            this.label = new Label(name);
+            this.canvas = new BarCanvas(width, height);
+            this.box = new VBox(2, label, canvas);
+        }
+
+        @Override
+        public void reset(int[] array) {
+            label.setText(name);
+            canvas.reset(array);
+        }
+
+        @Override
+        public void updateDisplay(SortStep step, int position, int total) {
+            label.setText(name + " - " + position + " / " + total);
+            canvas.show(step);
+        }
+
+        @Override
+        public void notifySortComplete() {
+            label.setText(name + " - termine");
+            canvas.markSorted();
+        }
+
+        @Override
+        public void updateMetrics(SortMetrics metrics) {}
+    }
+}
@@ -1,9 +1,11 @@
 package ui;
 
+import sort.SortMetrics;
 import sort.SortStep;
 
 public interface VisualizationDisplay {
     void reset(int[] array);
-    void updateDisplay(SortStep step);
+    void updateDisplay(SortStep step, int position, int total);
     void notifySortComplete();
+    void updateMetrics(SortMetrics metrics);
 }
@@ -8,46 +8,56 @@ import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
+import javafx.scene.control.Slider;
 import javafx.scene.layout.*;
 import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.stage.FileChooser;
 import mediator.AppMediator;
 import mediator.Colleague;
 import mediator.Mediator;
+import model.Distribution;
 import model.SortingParameters;
+import sort.SortMetrics;
 import sort.SortStep;
 
-import java.util.Arrays;
-import java.util.HashSet;
-import java.util.Set;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
 
 public class VisualizationPage extends Colleague implements VisualizationDisplay {
 
-    private static final Color BAR_DEFAULT = Color.STEELBLUE;
-    private static final Color BAR_HIGHLIGHT_A = Color.RED;
-    private static final Color BAR_HIGHLIGHT_B = Color.ORANGE;
-    private static final Color BAR_SORTED = Color.LIMEGREEN;
+    private static final Color OVERLAY_BACKGROUND = Color.rgb(255, 255, 255, 0.8);
+    private static final Font OVERLAY_FONT = Font.font("Monospaced", 11);
 
     private final BorderPane root;
-    private final Canvas canvas;
+    private final BarCanvas canvas;
+    private final Canvas metricsOverlay;
     private final Label lblAlgorithm;
     private final Label lblStep;
     private final Button btnBack;
     private final Button btnMute;
+    private final Button btnExport;
+    private final Button btnExportAudio;
+    private final Button btnStepBack;
+    private final Button btnPause;
+    private final Button btnStepForward;
+    private final Slider scrubBar;
 
     private final SortAudioPlayer audio;
     private final VisualizationController controller;
 
-    private int[] currentArray = new int[0];
-    private int[] highlightedIndices = new int[0];
-    private boolean sortDone = false;
     private int stepCount = 0;
+    private boolean updatingScrubBar = false;
 
     public VisualizationPage(Mediator mediator) {
         super(mediator);
         audio = new SortAudioPlayer();
         controller = new VisualizationController(this, audio);
 
-        canvas = new Canvas(950, 430);
+        canvas = new BarCanvas(950, 430);
+        metricsOverlay = new Canvas(950, 430);
+        metricsOverlay.setMouseTransparent(true);
 
         lblAlgorithm = new Label("-");
         lblAlgorithm.setStyle("-fx-font-size: 16; -fx-font-weight: bold;");
@@ -61,29 +71,64 @@ public class VisualizationPage extends Colleague implements VisualizationDisplay
         btnMute = new Button("Son ON");
         btnMute.setOnAction(e -> toggleMute());
 
+        btnExport = new Button("Exporter la trace");
+        btnExport.setOnAction(e -> export(btnExport, "Exporter la trace", "trace.strc", controller::exportTrace));
+
+        btnExportAudio = new Button("Exporter WAV");
+        btnExportAudio.setOnAction(e -> export(btnExportAudio, "Exporter le son", "tri.wav", controller::exportAudio));
+
         Region spacer = new Region();
         HBox.setHgrow(spacer, Priority.ALWAYS);
 
-        HBox topBar = new HBox(12, btnBack, lblAlgorithm, spacer, lblStep, btnMute);
+        HBox topBar = new HBox(12, btnBack, lblAlgorithm, spacer, lblStep, btnExport, btnExportAudio, btnMute);
         topBar.setAlignment(Pos.CENTER_LEFT);
         topBar.setPadding(new Insets(8, 12, 8, 12));
 
-        StackPane canvasWrapper = new StackPane(canvas);
+        btnStepBack = new Button("<");
+        btnStepBack.setOnAction(e -> { controller.stepBack(); refreshPauseButton(); });
+        btnPause = new Button("Pause");
+        btnPause.setOnAction(e -> { controller.setPaused(!controller.isPaused()); refreshPauseButton(); });
+        btnStepForward = new Button(">");
+        btnStepForward.setOnAction(e -> { controller.stepForward(); refreshPauseButton(); });
+
+        scrubBar = new Slider(0, 1, 0);
+        scrubBar.valueProperty().addListener((obs, oldValue, newValue) -> {
+            if (updatingScrubBar) return;
+            controller.seek((int) Math.round(newValue.doubleValue()));
+            refreshPauseButton();
+        });
+        HBox.setHgrow(scrubBar, Priority.ALWAYS);
+
+        HBox bottomBar = new HBox(8, btnStepBack, btnPause, btnStepForward, scrubBar);
+        bottomBar.setAlignment(Pos.CENTER_LEFT);
+        bottomBar.setPadding(new Insets(8, 12, 8, 12));
+        setPlaybackControlsDisabled(true);
+
+        StackPane canvasWrapper = new StackPane(canvas, metricsOverlay);
 
         root = new BorderPane();
         root.setTop(topBar);
         root.setCenter(canvasWrapper);
+        root.setBottom(bottomBar);
     }
 
     public Pane getRoot() { return root; }
 
     public void prepare(SortingParameters params) {
-        sortDone = false;
         stepCount = 0;
-        lblAlgorithm.setText(params.getAlgorithmType().toString().replace("_", " "));
+        String algorithm = params.getAlgorithmType() == null
+                ? "Trace importee"
+                : params.getAlgorithmType().toString().replace("_", " ");
+        lblAlgorithm.setText(params.getDistribution() == null
+                ? algorithm
+                : algorithm + " - " + params.getDistribution()
+                        + (params.getDistribution() == Distribution.NEARLY_SORTED ? " (" + params.getSwaps() + " echanges)" : "")
+                        + ", graine " + params.getSeed());
         lblStep.setText("Etape : 0");
         btnBack.setDisable(true);
+        setPlaybackControlsDisabled(true);
         controller.prepare(params);
+        refreshPauseButton();
     }
 
     public void startSort() { controller.start(); }
@@ -97,69 +142,96 @@ public class VisualizationPage extends Colleague implements VisualizationDisplay
 
     @Override
     public void reset(int[] array) {
-        currentArray = array.clone();
-        highlightedIndices = new int[0];
         stepCount = 0;
-        sortDone = false;
         lblStep.setText("Etape : 0");
-        redraw();
+        updatingScrubBar = true;
+        scrubBar.setValue(0);
+        updatingScrubBar = false;
+        canvas.reset(array);
+        updateMetrics(null);
     }
 
     @Override
-    public void updateDisplay(SortStep step) {
-        currentArray = step.getArrayState();
-        highlightedIndices = step.getHighlightedIndices();
-        stepCount++;
-        lblStep.setText("Etape : " + stepCount);
-        redraw();
+    public void updateDisplay(SortStep step, int position, int total) {
+        stepCount = position;
+        if (total >= 0) {
+            lblStep.setText("Etape : " + stepCount + " / " + total);
+            setPlaybackControlsDisabled(false);
+            updatingScrubBar = true;
+            scrubBar.setMax(Math.max(total, 1));
+            scrubBar.setValue(position);
+            updatingScrubBar = false;
+        } else {
+            lblStep.setText("Etape : " + stepCount);
+            btnPause.setDisable(false);
+            btnStepForward.setDisable(false);
+        }
+        canvas.show(step);
     }
 
     @Override
     public void notifySortComplete() {
-        sortDone = true;
-        highlightedIndices = new int[0];
-        redraw();
+        canvas.markSorted();
         btnBack.setDisable(false);
         send(AppMediator.EVT_SORT_COMPLETE);
     }
 
-    private void redraw() {
-        GraphicsContext gc = canvas.getGraphicsContext2D();
-        double w = canvas.getWidth();
-        double h = canvas.getHeight();
-
-        gc.setFill(Color.WHITE);
-        gc.fillRect(0, 0, w, h);
-
-        if (currentArray.length == 0) return;
-
-        int max = Arrays.stream(currentArray).max().orElse(1);
-        double slotW = w / currentArray.length;
-        double barW = Math.max(slotW * 0.8, 2);
-        double padding = 16;
-        double drawH = h - padding;
-
-        Set<Integer> hilightSet = new HashSet<>();
-        for (int idx : highlightedIndices) hilightSet.add(idx);
-
-        for (int i = 0; i < currentArray.length; i++) {
-            double barH = (double) currentArray[i] / max * drawH;
-            double x = slotW * i + (slotW - barW) / 2.0;
-            double y = h - barH;
-
-            Color barColor;
-            if (sortDone) {
-                barColor = BAR_SORTED;
-            } else if (hilightSet.contains(i)) {
-                int hi0 = highlightedIndices.length > 0 ? highlightedIndices[0] : -1;
-                barColor = (i == hi0) ? BAR_HIGHLIGHT_A : BAR_HIGHLIGHT_B;
-            } else {
-                barColor = BAR_DEFAULT;
-            }
+    @Override
+    public void updateMetrics(SortMetrics metrics) {
+        GraphicsContext gc = metricsOverlay.getGraphicsContext2D();
+        gc.clearRect(0, 0, metricsOverlay.getWidth(), metricsOverlay.getHeight());
+        if (metrics == null) return;
+        String[] lines = {
+                String.format("Comparaisons : %,d", metrics.comparisons()),
+                String.format("Echanges : %,d", metrics.swaps()),
+                String.format("Ecritures : %,d", metrics.writes()),
+                String.format("Memoire aux. : %,.1f Ko", metrics.auxiliaryBytes() / 1024.0),
+                String.format("Profondeur max : %d", metrics.maxRecursionDepth()),
+                String.format("Init / tri : %.2f / %.2f ms", metrics.initializeNanos() / 1e6, metrics.sortNanos() / 1e6)
+        };
+        gc.setFill(OVERLAY_BACKGROUND);
+        gc.fillRoundRect(8, 8, 200, 14 * lines.length + 10, 8, 8);
+        gc.setFill(Color.BLACK);
+        gc.setFont(OVERLAY_FONT);
+        for (int i = 0; i < lines.length; i++) gc.fillText(lines[i], 16, 24 + 14 * i);
+    }
 
-            gc.setFill(barColor);
-            gc.fillRect(x, y, barW, barH);
-        }
+    private void setPlaybackControlsDisabled(boolean disabled) {
+        btnStepBack.setDisable(disabled);
+        btnPause.setDisable(disabled);
+        btnStepForward.setDisable(disabled);
+        scrubBar.setDisable(disabled);
+        btnExport.setDisable(disabled);
+        btnExportAudio.setDisable(disabled);
+    }
+
+    private void refreshPauseButton() {
+        btnPause.setText(controller.isPaused() ? "Lecture" : "Pause");
+    }
+
+    private void export(Button button, String title, String fileName, Exporter exporter) {
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle(title);
+        chooser.setInitialFileName(fileName);
+        File file = chooser.showSaveDialog(root.getScene().getWindow());
+        if (file == null) return;
+        button.setDisable(true);
+        Thread worker = new Thread(() -> {
+            String message;
+            try {
+                exporter.export(file.toPath());
+                message = "Export termine : " + file.getName();
+            } catch (IOException | RuntimeException ex) {
+                message = "Echec de l'export : " + ex.getMessage();
+            }
+            String status = message;
+            javafx.application.Platform.runLater(() -> {
+                button.setDisable(false);
+                lblStep.setText(status);
+            });
+        }, "export");
+        worker.setDaemon(true);
+        worker.start();
     }
 
     private void toggleMute() {
@@ -167,4 +239,8 @@ public class VisualizationPage extends Colleague implements VisualizationDisplay
         audio.setMuted(nowMuted);
         btnMute.setText(nowMuted ? "Son OFF" : "Son ON");
     }
+
+    private interface Exporter {
+        void export(Path path) throws IOException;
+    }
 }